@@ -0,0 +1,116 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * DisplayBenchmark.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure la construction d'une image de la console dans le tampon de
+ * FrameWriter, complète ou réduite (demi-blocs ou braille), sans l'écriture
+ * dans le terminal dont le coût dépend de ce dernier.
+ * @author Faivre Pierre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DisplayBenchmark {
+
+    @Param({"80", "200", "1000"})
+    private int size;
+
+    @Param({"3"})
+    private int density;
+
+    @Param({"1"})
+    private long seed;
+
+    @Param({"grid", "sparse", "hashlife"})
+    private String engine;
+
+    private LifeEngine life;
+    private BoundingBox window;
+    private FrameWriter writer;
+
+    @Setup
+    public void createEngine() {
+        Grid grid = new Grid(this.size, this.size, this.density, this.seed);
+        this.window = grid.getBoundingBox();
+        this.writer = new FrameWriter(new ByteArrayOutputStream(), 1);
+        switch (EngineType.fromName(this.engine)) {
+            case SPARSE:
+                this.life = new SparseGrid(grid);
+                break;
+            case HASHLIFE:
+                this.life = new HashLife(grid, HashLife.DEFAULT_MAX_NODES);
+                break;
+            default:
+                this.life = grid;
+                break;
+        }
+    }
+
+    /**
+     * Échelle ajustée à un terminal de 80x24 caractères, comme celle choisie
+     * par Game sans --scale.
+     * @param mode Caractères utilisés.
+     * @return Côté d'un point en nombre de cellules.
+     */
+    private int scale(GlyphMode mode) {
+        int columns = 79 * mode.getColumns();
+        int lines = 22 * mode.getRows();
+        return Math.max(1, Math.max((this.size + columns - 1) / columns, (this.size + lines - 1) / lines));
+    }
+
+    @Benchmark
+    public int render() {
+        return this.writer.render(this.life, this.window, "");
+    }
+
+    @Benchmark
+    public int renderHalf() {
+        return this.writer.render(Display.glyphRows(this.life, this.window, GlyphMode.HALF, this.scale(GlyphMode.HALF)), "");
+    }
+
+    @Benchmark
+    public int renderBraille() {
+        return this.writer.render(Display.glyphRows(this.life, this.window, GlyphMode.BRAILLE, this.scale(GlyphMode.BRAILLE)), "");
+    }
+}
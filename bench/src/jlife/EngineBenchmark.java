@@ -0,0 +1,105 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * EngineBenchmark.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare les moteurs sur une même soupe aléatoire : chaque invocation
+ * calcule une génération. Chaque itération est un lot de 100 générations
+ * chronométré d'un bloc, le moteur étant reconstruit depuis la grille
+ * initiale avant chaque lot pour que la soupe ne se stabilise pas en cours
+ * de mesure. Le score est la durée du lot entier.
+ * @see EngineType
+ * @author Faivre Pierre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 100)
+@Measurement(iterations = 20, batchSize = 100)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+public class EngineBenchmark {
+
+    @Param({"256", "1024"})
+    private int size;
+
+    @Param({"3"})
+    private int density;
+
+    @Param({"1"})
+    private long seed;
+
+    @Param({"grid", "lut", "mapped", "sparse", "hashlife"})
+    private String engine;
+
+    private Grid initial;
+    private LifeEngine life;
+
+    @Setup(Level.Trial)
+    public void createGrid() {
+        this.initial = new Grid(this.size, this.size, this.density, this.seed);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetEngine() throws IOException {
+        switch (EngineType.fromName(this.engine)) {
+            case GRID:
+                this.life = new Grid(this.initial);
+                break;
+            case LUT:
+                this.life = new LutGrid(this.initial);
+                break;
+            case MAPPED:
+                this.life = new MappedGrid(this.initial);
+                break;
+            case SPARSE:
+                this.life = new SparseGrid(this.initial);
+                break;
+            case HASHLIFE:
+                this.life = new HashLife(this.initial, HashLife.DEFAULT_MAX_NODES);
+                break;
+        }
+    }
+
+    @Benchmark
+    public boolean nextGeneration() {
+        return this.life.nextGenerations(1);
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GridBenchmark.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure le calcul des générations d'une grille torique aléatoire, selon
+ * sa taille, sa densité et le moteur (grid ou lut).
+ * Chaque itération est un lot de 100 générations chronométré d'un bloc,
+ * calculé depuis l'état initial de la grille : sans cela la soupe se
+ * stabiliserait en cours de mesure et les tuiles inactives la fausseraient.
+ * Le score est la durée du lot entier.
+ * @author Faivre Pierre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 100)
+@Measurement(iterations = 20, batchSize = 100)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+public class GridBenchmark {
+
+    @Param({"64", "256", "1024", "4096", "8192"})
+    private int size;
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    private int density;
+
+    @Param({"1"})
+    private long seed;
+
+    @Param({"grid", "lut"})
+    private String engine;
+
+    @Param({"1"})
+    private int threads;
+
+    private Grid initial;
+    private Grid grid;
+
+    @Setup(Level.Trial)
+    public void createGrid() {
+        this.initial = new Grid(this.size, this.size, this.density, this.seed);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetGrid() {
+        if (EngineType.fromName(this.engine) == EngineType.LUT) {
+            this.grid = new LutGrid(this.initial);
+        } else {
+            this.grid = new Grid(this.initial);
+        }
+        this.grid.setThreads(this.threads);
+    }
+
+    @Benchmark
+    public boolean nextGeneration() {
+        return this.grid.nextGeneration();
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GridFileReaderBenchmark.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure le chargement d'un fichier de grille.
+ * Les sources "random-N" désignent un fichier de N x N cellules généré au
+ * lancement ; les autres sont lues dans le dossier des exemples (propriété
+ * jlife.examples, "examples" par défaut, relatif au dossier courant).
+ * @author Faivre Pierre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GridFileReaderBenchmark {
+
+    private static final String GENERATED = "random-";
+
+    @Param({"glider", "lwss", "gosper", "oscillators", "random-1024", "random-4096"})
+    private String source;
+
+    private File file;
+    private boolean temporary;
+
+    @Setup(Level.Trial)
+    public void prepareFile() throws IOException {
+        if (this.source.startsWith(GENERATED)) {
+            int size = Integer.parseInt(this.source.substring(GENERATED.length()));
+            this.file = File.createTempFile("jlife-", ".txt");
+            this.temporary = true;
+            writeRandomGrid(this.file, size);
+        } else {
+            this.file = new File(System.getProperty("jlife.examples", "examples"), this.source);
+            this.temporary = false;
+            if (!this.file.isFile()) {
+                throw new IOException("Cannot find " + this.file.getAbsolutePath());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() {
+        if (this.temporary) {
+            this.file.delete();
+        }
+    }
+
+    @Benchmark
+    public long[] load() throws IOException {
+        return new GridFileReader(this.file.getPath()).getGrid();
+    }
+
+    /**
+     * Écrit une grille carrée aléatoire, toujours la même pour une taille
+     * donnée, au format lu par GridFileReader.
+     * @param file Fichier à écrire.
+     * @param size Nombre de lignes et de colonnes.
+     */
+    private static void writeRandomGrid(File file, int size) throws IOException {
+        Random random = new Random(size);
+        char[] line = new char[size];
+        BufferedWriter writer = new BufferedWriter(new FileWriter(file));
+        try {
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    line[x] = random.nextInt(3) == 0 ? '#' : ' ';
+                }
+                writer.write(line);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
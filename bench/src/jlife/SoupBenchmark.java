@@ -0,0 +1,92 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SoupBenchmark.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare le calcul d'une génération de 64 petites soupes, grille par
+ * grille avec Grid ou toutes ensemble avec SlicedBoards. Chaque itération
+ * est un lot de 32 générations chronométré d'un bloc, les soupes étant
+ * recréées avant chaque lot : de petites soupes se stabiliseraient sinon en
+ * cours de mesure. Le score est la durée du lot entier.
+ * @see SoupSearch
+ * @author Faivre Pierre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2000, batchSize = 32)
+@Measurement(iterations = 1000, batchSize = 32)
+@Fork(2)
+public class SoupBenchmark {
+
+    @Param({"16", "32", "64"})
+    private int size;
+
+    @Param({"5"})
+    private int density;
+
+    private Grid[] grids;
+    private SlicedBoards boards;
+
+    @Setup(Level.Iteration)
+    public void createSoups() {
+        this.grids = new Grid[SlicedBoards.BOARDS];
+        for (int k = 0; k < this.grids.length; k++) {
+            this.grids[k] = new Grid(this.size, this.size, this.density, k);
+        }
+        this.boards = new SlicedBoards(this.grids);
+    }
+
+    @Benchmark
+    public long grids() {
+        long population = 0;
+        for (Grid grid : this.grids) {
+            grid.nextGeneration();
+            population += grid.getPopulation();
+        }
+        return population;
+    }
+
+    @Benchmark
+    public long sliced() {
+        this.boards.nextGeneration(this.boards.getBoards());
+        return this.boards.getChanged();
+    }
+}
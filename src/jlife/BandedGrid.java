@@ -0,0 +1,225 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * BandedGrid.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Partie commune des grilles toriques calculées par bandes horizontales de
+ * lignes, Grid et MappedGrid, qui ne diffèrent que par le stockage de leurs
+ * lignes : compteurs de la grille, pool de fils d'exécution et calcul d'une
+ * génération. Les sous-classes calculent chaque bande (stepBand) puis
+ * appliquent la génération calculée (swap).
+ * @see GridBand
+ * @author Faivre Pierre
+ */
+abstract class BandedGrid implements LifeEngine, RowSource {
+
+    /**
+     * Nombre minimal de lignes d'une bande lors du calcul en parallèle.
+     */
+    static final int MIN_BAND_ROWS = 16;
+
+    /**
+     * Nombre d'itérations écoulées depuis l'initialisation de la grille.
+     * Représente le temps dans le jeu de la vie.
+     */
+    long generation;
+
+    /**
+     * Nombre de cellules vivantes dans la grille
+     */
+    long population;
+
+    /**
+     * Indique si la dernière génération a modifié au moins une cellule.
+     */
+    boolean changed;
+
+    /**
+     * Nombres de naissances et de morts lors de la dernière génération.
+     */
+    long births, deaths;
+
+    /**
+     * Empreinte de la grille : ou exclusif des empreintes de tous ses mots,
+     * voir Grid.hashWord. Seuls les mots modifiés la mettent à jour.
+     */
+    long stateHash;
+
+    /**
+     * Pool de fils d'exécution calculant les bandes de la grille en
+     * parallèle, null si le calcul se fait dans le fil courant.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Nombre de fils d'exécution utilisés pour le calcul.
+     */
+    private int threads = 1;
+
+    /**
+     * @return La largeur de la grille.
+     */
+    public abstract int getWidth();
+
+    /**
+     * @return La hauteur de la grille.
+     */
+    public abstract int getHeight();
+
+    /**
+     * @return La génération actuelle.
+     */
+    @Override
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * @return Le nombre de cellules vivantes sur la grille.
+     */
+    @Override
+    public long getPopulation() {
+        return this.population;
+    }
+
+    @Override
+    public boolean hasChanged() {
+        return this.changed;
+    }
+
+    @Override
+    public long getBirths() {
+        return this.births;
+    }
+
+    @Override
+    public long getDeaths() {
+        return this.deaths;
+    }
+
+    @Override
+    public long getStateHash() {
+        return this.stateHash;
+    }
+
+    @Override
+    public void skipGenerations(long generations) {
+        this.generation += generations;
+    }
+
+    /**
+     * Définit le nombre de fils d'exécution utilisés pour calculer les
+     * générations suivantes. La grille est alors découpée en bandes
+     * horizontales réparties sur un ForkJoinPool. Le résultat ne dépend pas
+     * du nombre de fils choisi.
+     * @param threads Nombre de fils d'exécution, 1 pour un calcul séquentiel.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1)
+            threads = 1;
+
+        if (this.pool != null) {
+            this.pool.shutdown();
+            this.pool = null;
+        }
+        if (threads > 1) {
+            this.pool = new ForkJoinPool(threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * @return Le nombre de fils d'exécution utilisés pour le calcul.
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * @return Le pool de fils d'exécution, null si le calcul se fait dans le
+     *         fil courant.
+     */
+    ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    @Override
+    public boolean nextGenerations(long generations) {
+        boolean active = true;
+        for (long i = 0; i < generations && active; i++) {
+            active = this.nextGeneration();
+        }
+        return active;
+    }
+
+    /**
+     * Modifie la grille pour arriver à l'itération suivante.
+     * @return Booléen valant false si la grille est inerte
+     */
+    public boolean nextGeneration() {
+        GridBand band;
+        int height = this.getHeight();
+
+        if (this.pool == null || height < 2 * MIN_BAND_ROWS) {
+            // Calcul de toute la grille dans le fil courant
+            band = new GridBand(this, 0, height, height);
+            this.stepBand(band);
+        } else {
+            // Environ quatre bandes par fil pour équilibrer la charge
+            int grain = Math.max(MIN_BAND_ROWS, height / (4 * this.threads));
+            grain = (grain + Grid.TILE_ROWS - 1) / Grid.TILE_ROWS * Grid.TILE_ROWS; // Bandes alignées sur les tuiles
+            band = new GridBand(this, 0, height, grain);
+            this.pool.invoke(band);
+        }
+        this.population += band.births - band.deaths;
+        this.births = band.births;
+        this.deaths = band.deaths;
+        this.stateHash ^= band.hash;
+        this.changed = band.births + band.deaths > 0;
+
+        // On échange ensuite les deux générations pour appliquer ces changements.
+        this.swap(band);
+
+        this.generation++;
+        return this.population > 0 && this.changed;
+    }
+
+    /**
+     * Calcule la génération suivante des lignes d'une bande, sans modifier
+     * la génération courante.
+     * @param band Bande à calculer, qui reçoit ses nombres de naissances et
+     *             de morts et sa variation d'empreinte.
+     */
+    abstract void stepBand(GridBand band);
+
+    /**
+     * Fait de la génération calculée la génération courante.
+     * @param band Bande couvrant toute la grille, une fois calculée.
+     */
+    abstract void swap(GridBand band);
+}
@@ -0,0 +1,88 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * BoundingBox.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Rectangle de cellules, défini par son coin supérieur gauche et sa taille.
+ * @author Faivre Pierre
+ */
+public class BoundingBox {
+
+    private final long x;
+    private final long y;
+    private final long width;
+    private final long height;
+
+    /**
+     * @param x Abscisse du coin supérieur gauche.
+     * @param y Ordonnée du coin supérieur gauche.
+     * @param width Largeur en nombre de cellules.
+     * @param height Hauteur en nombre de cellules.
+     */
+    public BoundingBox(long x, long y, long width, long height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return L'abscisse du coin supérieur gauche.
+     */
+    public long getX() {
+        return this.x;
+    }
+
+    /**
+     * @return L'ordonnée du coin supérieur gauche.
+     */
+    public long getY() {
+        return this.y;
+    }
+
+    /**
+     * @return La largeur en nombre de cellules.
+     */
+    public long getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return La hauteur en nombre de cellules.
+     */
+    public long getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Agrandit le rectangle dans toutes les directions.
+     * @param margin Nombre de cellules ajoutées de chaque côté.
+     * @return Nouveau rectangle.
+     */
+    public BoundingBox grow(long margin) {
+        return new BoundingBox(this.x - margin, this.y - margin, this.width + 2 * margin, this.height + 2 * margin);
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * CellTable.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert associant une valeur entière à des
+ * coordonnées de cellule. Les coordonnées (x;y) sont regroupées dans un long
+ * (voir key), ce qui évite de créer un objet par cellule.
+ * @see SparseGrid
+ * @author Faivre Pierre
+ */
+class CellTable {
+
+    /**
+     * Clé marquant une case vide. Elle correspond à la cellule
+     * (Integer.MIN_VALUE;0), qui ne peut donc pas être stockée.
+     */
+    static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+
+    /**
+     * Nombre de cases occupées.
+     */
+    private int size;
+
+    /**
+     * @param capacity Nombre de cases initial, arrondi à une puissance de 2.
+     */
+    CellTable(int capacity) {
+        int length = 16;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        this.keys = new long[length];
+        this.values = new int[length];
+        Arrays.fill(this.keys, FREE);
+    }
+
+    /**
+     * Regroupe les coordonnées d'une cellule dans un long.
+     */
+    static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return L'abscisse contenue dans la clé.
+     */
+    static int x(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * @return L'ordonnée contenue dans la clé.
+     */
+    static int y(long key) {
+        return (int) key;
+    }
+
+    /**
+     * @return Le nombre d'entrées de la table.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return Le nombre de cases de la table, occupées ou non.
+     */
+    int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * @return La clé de la case i, FREE si elle est vide.
+     */
+    long keyAt(int i) {
+        return this.keys[i];
+    }
+
+    /**
+     * @return La valeur de la case i.
+     */
+    int valueAt(int i) {
+        return this.values[i];
+    }
+
+    /**
+     * @return La valeur associée à la clé, 0 si elle est absente.
+     */
+    int get(long key) {
+        int mask = this.keys.length - 1;
+        for (int i = hash(key) & mask; this.keys[i] != FREE; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.values[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Ajoute une quantité à la valeur associée à la clé, en créant l'entrée
+     * si nécessaire.
+     */
+    void add(long key, int amount) {
+        int mask = this.keys.length - 1;
+        int i = hash(key) & mask;
+        while (this.keys[i] != FREE) {
+            if (this.keys[i] == key) {
+                this.values[i] += amount;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        this.keys[i] = key;
+        this.values[i] = amount;
+        this.size++;
+        // On garde la table remplie à moins de la moitié
+        if (this.size * 2 > this.keys.length) {
+            this.resize(this.keys.length * 2);
+        }
+    }
+
+    /**
+     * Vide la table, en la réduisant si elle est devenue bien trop grande.
+     * @param expected Nombre d'entrées attendues avant le prochain vidage.
+     */
+    void clear(int expected) {
+        if (expected * 8 < this.keys.length && this.keys.length > 16) {
+            this.keys = new long[Math.max(16, Integer.highestOneBit(Math.max(1, expected) * 4))];
+            this.values = new int[this.keys.length];
+        }
+        Arrays.fill(this.keys, FREE);
+        this.size = 0;
+    }
+
+    /**
+     * Change le nombre de cases de la table.
+     */
+    private void resize(int length) {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        int mask = length - 1;
+        int j;
+
+        this.keys = new long[length];
+        this.values = new int[length];
+        Arrays.fill(this.keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                j = hash(oldKeys[i]) & mask;
+                while (this.keys[j] != FREE) {
+                    j = (j + 1) & mask;
+                }
+                this.keys[j] = oldKeys[i];
+                this.values[j] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Mélange les bits de la clé pour répartir les cellules voisines dans
+     * toute la table.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        return (int) (key ^ (key >>> 33));
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Checkpointer.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Enregistrement périodique de la grille dans des instantanés, pour
+ * reprendre un long calcul interrompu.
+ *
+ * Toutes les "every" générations, les lignes de la grille sont recopiées
+ * dans un tampon, puis un fil d'exécution en arrière-plan les écrit sur le
+ * disque pendant que le calcul continue. Les instantanés sont écrits tour
+ * à tour dans deux fichiers, préfixe-0.snap et préfixe-1.snap : si le
+ * programme s'arrête pendant une écriture, l'autre fichier contient
+ * toujours un instantané valide.
+ * @see SnapshotFileWriter
+ * @author Faivre Pierre
+ */
+public class Checkpointer {
+
+    /**
+     * Nombre de fichiers recevant les instantanés, tour à tour.
+     */
+    private static final int FILES = 2;
+
+    /**
+     * Préfixe par défaut des fichiers, dans le répertoire courant.
+     */
+    public static final String DEFAULT_PREFIX = "jlife-checkpoint";
+
+    /**
+     * Nombre de générations entre deux instantanés.
+     */
+    private final long every;
+
+    /**
+     * Préfixe des fichiers recevant les instantanés.
+     */
+    private final String prefix;
+
+    /**
+     * Indice du prochain fichier à écrire.
+     */
+    private int next;
+
+    /**
+     * Copie des lignes de la grille en cours d'écriture.
+     */
+    private long[] buffer;
+
+    /**
+     * Fil d'exécution écrivant le dernier instantané, null s'il n'y en a pas.
+     */
+    private Thread writer;
+
+    /**
+     * Erreur rencontrée par le fil d'écriture, null s'il n'y en a pas eu.
+     */
+    private volatile IOException failure;
+
+    /**
+     * @param every Nombre de générations entre deux instantanés.
+     * @param prefix Préfixe des fichiers recevant les instantanés.
+     */
+    public Checkpointer(long every, String prefix) {
+        this.every = every;
+        this.prefix = prefix;
+        this.next = 0;
+    }
+
+    /**
+     * @param prefix Préfixe des fichiers.
+     * @param index Indice du fichier, de 0 à FILES - 1.
+     * @return Le chemin du fichier.
+     */
+    private static String file(String prefix, int index) {
+        return prefix + "-" + index + ".snap";
+    }
+
+    /**
+     * Enregistre la grille si sa génération est un multiple de la période.
+     * L'appel ne bloque que si l'instantané précédent est encore en cours
+     * d'écriture.
+     * @param grid Grille venant de calculer une génération.
+     * @throws IOException Si l'écriture de l'instantané précédent a échoué.
+     */
+    public void update(Grid grid) throws IOException {
+        if (grid.getGeneration() % this.every != 0) {
+            return;
+        }
+        this.await();
+
+        // Copie cohérente de la grille, le calcul pouvant reprendre ensuite.
+        final long[] rows = grid.getRows();
+        if (this.buffer == null || this.buffer.length != rows.length) {
+            this.buffer = new long[rows.length];
+        }
+        System.arraycopy(rows, 0, this.buffer, 0, rows.length);
+
+        final int width = grid.getWidth();
+        final int height = grid.getHeight();
+        final long[] copy = this.buffer;
+        final long generation = grid.getGeneration();
+        final String file = file(this.prefix, this.next);
+        this.next = (this.next + 1) % FILES;
+
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    SnapshotFileWriter.write(width, height, copy, generation, file);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }, "checkpoint");
+        this.writer.start();
+    }
+
+    /**
+     * Attend la fin de l'écriture en cours.
+     * @throws IOException Si l'écriture a échoué.
+     */
+    public void await() throws IOException {
+        if (this.writer != null) {
+            boolean interrupted = false;
+            while (this.writer.isAlive()) {
+                try {
+                    this.writer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            this.writer = null;
+        }
+        if (this.failure != null) {
+            IOException e = this.failure;
+            this.failure = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Charge le plus récent des instantanés valides. Un instantané d'une
+     * grille d'une autre taille, écrit par un autre calcul, est ignoré.
+     * @param prefix Préfixe des fichiers des instantanés.
+     * @param width Largeur de la grille demandée.
+     * @param height Hauteur de la grille demandée.
+     * @return La grille enregistrée, à sa génération.
+     * @throws IOException Si aucun instantané valide n'existe.
+     */
+    public static Grid resume(String prefix, int width, int height) throws IOException {
+        List<SnapshotFileReader> readers = new ArrayList<SnapshotFileReader>();
+        SnapshotFileReader reader;
+        String file;
+        for (int i = 0; i < FILES; i++) {
+            file = file(prefix, i);
+            if (new File(file).isFile()) {
+                try {
+                    reader = new SnapshotFileReader(file);
+                    if (reader.getWidth() != width || reader.getHeight() != height) {
+                        Display.warningMessage("Ignoring checkpoint " + file + " of " + reader.getWidth() + "x"
+                                               + reader.getHeight() + " cells, the grid is " + width + "x" + height);
+                    } else {
+                        readers.add(reader);
+                    }
+                } catch (IOException e) {
+                    // Instantané interrompu pendant son écriture : on garde l'autre.
+                    Display.warningMessage("Ignoring checkpoint. " + e.getMessage());
+                }
+            }
+        }
+
+        // Du plus récent au plus ancien, le CRC n'étant vérifié qu'au chargement
+        Collections.sort(readers, new Comparator<SnapshotFileReader>() {
+            @Override
+            public int compare(SnapshotFileReader a, SnapshotFileReader b) {
+                return Long.compare(b.getGeneration(), a.getGeneration());
+            }
+        });
+        for (SnapshotFileReader valid : readers) {
+            try {
+                return new Grid(valid);
+            } catch (IOException e) {
+                Display.warningMessage("Ignoring checkpoint. " + e.getMessage());
+            }
+        }
+        throw new IOException("No valid checkpoint " + file(prefix, 0) + " or " + file(prefix, 1) + " to resume from");
+    }
+}
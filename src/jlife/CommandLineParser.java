@@ -18,7 +18,7 @@
  *
  * CommandLineParser.java
  * Creation : 02/10/2013
- * Last modification : 20/12/2014
+ * Last modification : 18/10/2026
  *
  * Description : Implémentation basique du jeu de la vie de John Horton Conway.
  */
@@ -206,6 +206,24 @@ class CommandLineParser {
         return value;
     }
 
+    /**
+     * Donne la valeur numérique entière longue associée au paramètre.
+     *
+     * @param parameter Clé du paramètre dont la valeur est recherchée.
+     * @return Valeur associée au paramètre convertie en Long.
+     */
+    public Long getLongValue(String parameter) {
+        Long value = null;
+
+        try {
+            value = Long.valueOf(this.getValue(parameter));
+        } catch (NumberFormatException e) {
+            value = null;
+        }
+
+        return value;
+    }
+
     /**
      * Retourne la dernière valeur qui n'a pas de paramètre associé.
      *
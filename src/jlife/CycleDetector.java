@@ -0,0 +1,191 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * CycleDetector.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Détecte le retour d'un moteur à un état déjà rencontré.
+ * L'empreinte de chaque génération (voir LifeEngine.getStateHash) est
+ * rangée dans une petite table associative par ensembles de WAYS entrées,
+ * choisis par l'empreinte elle-même : une nouvelle génération retrouvant
+ * l'empreinte et la population d'une génération passée révèle un cycle,
+ * dont la période est l'écart entre les deux. Un ensemble plein perd sa
+ * génération la plus ancienne ; les états d'un même cycle court, même
+ * s'ils tombent dans le même ensemble, ne s'évincent donc pas.
+ * Pour les cycles plus longs que la table ne peut retenir, l'état est aussi
+ * comparé à une ancre enregistrée après 1, 2, 4, 8... appels (méthode de
+ * Brent) : tout cycle est détecté au plus tard lorsque le nombre d'appels
+ * dépasse le double du plus grand nombre entre le début du cycle et sa
+ * période.
+ * @author Faivre Pierre
+ */
+public class CycleDetector {
+
+    /**
+     * Nombre d'entrées de la table, puissance de deux.
+     */
+    private static final int HISTORY = 4096;
+
+    /**
+     * Nombre d'entrées d'un ensemble, puissance de deux.
+     */
+    private static final int WAYS = 4;
+
+    /**
+     * Empreintes rangées dans la table.
+     */
+    private final long[] hashes = new long[HISTORY];
+
+    /**
+     * Population correspondant à chaque empreinte, pour écarter la plupart
+     * des collisions.
+     */
+    private final long[] populations = new long[HISTORY];
+
+    /**
+     * Génération correspondant à chaque empreinte, -1 si l'entrée est vide.
+     */
+    private final long[] generations = new long[HISTORY];
+
+    /**
+     * État de l'ancre : empreinte, population et génération, -1 avant le
+     * premier appel.
+     */
+    private long anchorHash;
+    private long anchorPopulation;
+    private long anchorGeneration = -1;
+
+    /**
+     * Nombre d'appels à update, et nombre d'appels auquel l'ancre sera
+     * déplacée sur l'état courant.
+     */
+    private long updates;
+    private long nextAnchor = 1;
+
+    /**
+     * Période du cycle détecté, 0 tant qu'aucun cycle n'a été trouvé.
+     */
+    private long period;
+
+    /**
+     * Première génération du cycle détecté.
+     */
+    private long start;
+
+    public CycleDetector() {
+        for (int i = 0; i < HISTORY; i++) {
+            this.generations[i] = -1;
+        }
+    }
+
+    /**
+     * Enregistre la génération courante du moteur.
+     * @param engine Moteur observé, à appeler après chaque génération.
+     * @return true si un cycle a été détecté, lors de cet appel ou d'un
+     *         appel précédent.
+     */
+    public boolean update(LifeEngine engine) {
+        if (this.period > 0) {
+            return true;
+        }
+
+        long hash = engine.getStateHash();
+        long population = engine.getPopulation();
+        long generation = engine.getGeneration();
+        int set = ((int) hash & (HISTORY / WAYS - 1)) * WAYS;
+        int oldest = set;
+
+        for (int slot = set; slot < set + WAYS; slot++) {
+            if (this.generations[slot] >= 0 && this.generations[slot] < generation
+                    && this.hashes[slot] == hash && this.populations[slot] == population) {
+                return this.found(this.generations[slot], generation);
+            }
+            if (this.generations[slot] < this.generations[oldest]) {
+                oldest = slot;
+            }
+        }
+        if (this.anchorGeneration >= 0 && this.anchorGeneration < generation
+                && this.anchorHash == hash && this.anchorPopulation == population) {
+            return this.found(this.anchorGeneration, generation);
+        }
+
+        this.hashes[oldest] = hash;
+        this.populations[oldest] = population;
+        this.generations[oldest] = generation;
+
+        this.updates++;
+        if (this.updates == this.nextAnchor) {
+            this.anchorHash = hash;
+            this.anchorPopulation = population;
+            this.anchorGeneration = generation;
+            this.nextAnchor *= 2;
+        }
+        return false;
+    }
+
+    /**
+     * Enregistre le cycle trouvé.
+     * @param first Génération déjà rencontrée.
+     * @param generation Génération courante, identique à la première.
+     * @return true.
+     */
+    private boolean found(long first, long generation) {
+        this.start = first;
+        this.period = generation - first;
+        return true;
+    }
+
+    /**
+     * @return La période du cycle détecté, 0 si aucun cycle n'a été trouvé.
+     */
+    public long getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * @return La première génération connue du cycle détecté. Pour un cycle
+     *         trop long pour la table, trouvé grâce à l'ancre, le cycle a pu
+     *         commencer plus tôt.
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * Mélange les bits d'une valeur (finaliseur de MurmurHash3), pour
+     * construire les empreintes des moteurs. Le résultat n'est pas nul
+     * pour une valeur nulle.
+     * @param value Valeur à mélanger.
+     * @return Valeur mélangée.
+     */
+    static long mix(long value) {
+        value += 0x9E3779B97F4A7C15L;
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * DiffDisplay.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Affichage incrémental de la grille pour le mode automatique.
+ * L'image précédente est conservée : seules les portions de lignes ayant
+ * changé sont réécrites, en plaçant le curseur avec des séquences ANSI,
+ * puis la ligne d'état. Lorsque ces modifications sont plus longues que la
+ * moitié de l'image, ou que la taille de la fenêtre n'est plus la même,
+ * l'image est entièrement redessinée. L'image doit tenir dans la hauteur du terminal.
+ * @see Display
+ * @author Faivre Pierre
+ */
+public class DiffDisplay {
+
+    /**
+     * Séquence de contrôle ANSI (Control Sequence Introducer).
+     */
+    private static final String CSI = "\u001B[";
+
+    /**
+     * Lignes de la dernière image affichée, null avant la première.
+     */
+    private char[][] previous;
+
+    /**
+     * Affiche dans la console une image, en ne réécrivant que ce qui a
+     * changé depuis l'appel précédent.
+     *
+     * @param rows Lignes de l'image, sans bordures. Elles ne doivent plus
+     *             être modifiées par l'appelant.
+     * @param status Ligne d'état affichée sous l'image.
+     */
+    public void drawFrame(char[][] rows, String status) {
+        FrameEvent event = FrameEvent.start();
+        String text = this.renderFrame(rows, status);
+        System.out.print(text);
+        System.out.flush();
+        if (event != null) {
+            event.bytes = text.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
+    }
+
+    /**
+     * Construit les séquences faisant passer la console de l'image
+     * précédente à la nouvelle, sans les écrire. Le curseur est laissé au
+     * début de la ligne suivant la ligne d'état.
+     *
+     * @param rows Lignes de l'image, sans bordures.
+     * @param status Ligne d'état affichée sous l'image.
+     * @return Texte à écrire dans la console.
+     */
+    public String renderFrame(char[][] rows, String status) {
+        int height = rows.length;
+        int width = height > 0 ? rows[0].length : 0;
+        StringBuilder out = new StringBuilder();
+
+        if (this.previous != null && (this.previous.length != height
+            || (height > 0 && this.previous[0].length != width))) {
+            // Fenêtre redimensionnée : on efface l'écran.
+            this.previous = null;
+        }
+        if (this.previous != null) {
+            this.appendChanges(rows, out);
+        }
+
+        if (this.previous == null || 2 * out.length() > height * (width + 2)) {
+            // Redessin complet, par-dessus l'image précédente si elle existe
+            out.setLength(0);
+            out.append(CSI).append('H');
+            if (this.previous == null) {
+                out.append(CSI).append("2J");
+            }
+            out.append(Display.renderFrame(rows, status)).append(CSI).append('K').append(System.lineSeparator());
+        } else {
+            out.append(CSI).append(height + 2).append(";1H");
+            out.append(status).append(CSI).append('K');
+            out.append(CSI).append(height + 3).append(";1H");
+        }
+        this.previous = rows;
+
+        return out.toString();
+    }
+
+    /**
+     * Ajoute, pour chaque ligne ayant changé, le déplacement du curseur sur
+     * sa première cellule modifiée suivi des cellules jusqu'à la dernière
+     * cellule modifiée. Les lignes de l'écran sont numérotées à partir de 1,
+     * la première étant la bordure supérieure.
+     * @param rows Lignes de la nouvelle image.
+     * @param out Texte recevant les séquences.
+     */
+    private void appendChanges(char[][] rows, StringBuilder out) {
+        int first, last;
+
+        for (int y = 0; y < rows.length; y++) {
+            char[] row = rows[y];
+            char[] old = this.previous[y];
+
+            first = 0;
+            while (first < row.length && row[first] == old[first]) {
+                first++;
+            }
+            if (first == row.length) {
+                continue;
+            }
+            last = row.length - 1;
+            while (row[last] == old[last]) {
+                last--;
+            }
+            out.append(CSI).append(y + 2).append(';').append(first + 1).append('H');
+            out.append(row, first, last - first + 1);
+        }
+    }
+}
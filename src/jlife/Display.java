@@ -18,7 +18,7 @@
  *
  * Display.java
  * Creation : 29/09/2013
- * Last modification : 20/12/2014
+ * Last modification : 18/10/2026
  *
  * Description : Implémentation basique du jeu de la vie de John Horton Conway.
  */
@@ -32,38 +32,92 @@ package jlife;
 public class Display {
 
     /**
-     * Affiche la grille dans la console.
+     * Entoure les lignes d'une image de ses bordures et y ajoute la ligne d'état.
      *
-     * @param grid Grille à afficher.
+     * @param rows Lignes de l'image, toutes de même longueur.
+     * @param status Ligne d'état affichée sous l'image.
+     * @return Texte de l'image.
      */
-    public static void drawGrid(Grid grid) {
-        int count = 0; // Compteur pour connaître la position dans la ligne.
+    public static String renderFrame(char[][] rows, String status) {
         StringBuilder out = new StringBuilder();
+        int width = rows.length > 0 ? rows[0].length : 0;
 
         // Ligne supérieure
-        for (int i = 0; i < grid.getWidth(); i++) {
+        for (int x = 0; x < width; x++) {
             out.append('_');
         }
         out.append(System.lineSeparator());
 
-        // Contenu de la grille
-        for (int i = 0; i < grid.getWidth() * grid.getHeight(); i++) {
-            if (grid.get(i).isAlive()) {
-                out.append('#');
-            } else {
-                out.append(' ');
-            }
-
+        // Contenu de la fenêtre, ligne par ligne
+        for (char[] row : rows) {
             // Quand on arrive à la fin de la ligne, on insère un saut de ligne.
-            count++;
-            if (count == grid.getWidth()) {
-                out.append('|').append(System.lineSeparator());
-                count = 0;
+            out.append(row).append('|').append(System.lineSeparator());
+        }
+        out.append(status);
+
+        return out.toString();
+    }
+
+    /**
+     * Construit les lignes d'une vue réduite d'une fenêtre de l'univers :
+     * la fenêtre est découpée en blocs de scale x scale cellules comptés
+     * par le moteur, puis chaque caractère représente un rectangle de blocs.
+     * Le coût de l'image est proportionnel au nombre de caractères, celui
+     * du comptage dépend du moteur (voir LifeEngine.countBlocks).
+     *
+     * @param engine Moteur dont les cellules sont affichées.
+     * @param window Rectangle de cellules à afficher.
+     * @param mode Caractères utilisés.
+     * @param scale Côté d'un bloc en nombre de cellules.
+     * @return Lignes de l'image, sans bordures.
+     */
+    public static char[][] glyphRows(LifeEngine engine, BoundingBox window, GlyphMode mode, int scale) {
+        int columns = (int) ((window.getWidth() + scale - 1) / scale);  // Blocs par ligne
+        int lines = (int) ((window.getHeight() + scale - 1) / scale);   // Lignes de blocs
+        long[] counts = new long[columns * lines];
+        char[][] rows = new char[(lines + mode.getRows() - 1) / mode.getRows()]
+                                [(columns + mode.getColumns() - 1) / mode.getColumns()];
+        int bits, bx, by;
+
+        engine.countBlocks(window, scale, counts);
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length; x++) {
+                bits = 0;
+                for (int r = 0; r < mode.getRows(); r++) {
+                    for (int c = 0; c < mode.getColumns(); c++) {
+                        bx = x * mode.getColumns() + c;
+                        by = y * mode.getRows() + r;
+                        if (bx < columns && by < lines && counts[by * columns + bx] > 0) {
+                            bits |= 1 << (r * mode.getColumns() + c);
+                        }
+                    }
+                }
+                rows[y][x] = mode.glyph(bits);
             }
         }
-        out.append("Generation : ").append(grid.getGeneration()).append(" ; population : ").append(grid.getPopulation());
+        return rows;
+    }
 
-        System.out.println(out.toString());
+    /**
+     * Construit la ligne d'état affichée sous la grille.
+     *
+     * @param engine Moteur dont les cellules sont affichées.
+     * @param window Rectangle de cellules affiché.
+     * @return Texte de la ligne, sans saut de ligne.
+     */
+    static String statusLine(LifeEngine engine, BoundingBox window) {
+        StringBuilder out = new StringBuilder();
+
+        out.append("Generation : ").append(engine.getGeneration()).append(" ; population : ").append(engine.getPopulation());
+        if (engine instanceof Grid) {
+            Grid grid = (Grid) engine;
+            out.append(" ; active tiles : ").append(grid.getActiveTiles()).append('/').append(grid.getTileCount());
+        }
+        if (window.getX() != 0 || window.getY() != 0) {
+            out.append(" ; origin : (").append(window.getX()).append(';').append(window.getY()).append(')');
+        }
+
+        return out.toString();
     }
 
     /**
@@ -112,12 +166,40 @@ public class Display {
     public static void helpMessage() {
         System.out.println("usage : JLife [" + Color.LIGHT_RED + "-g" + Color.NORMAL 
                            + "=" + Color.LIGHT_GREEN + "max_generations" + Color.NORMAL
+                           + "] [" + Color.LIGHT_RED + "-t" + Color.NORMAL
+                           + "=" + Color.LIGHT_GREEN + "threads" + Color.NORMAL
                            + "] [" + Color.LIGHT_RED + "-i" + Color.NORMAL + "|" + Color.LIGHT_RED
                            + "-a" + Color.NORMAL + "|" + Color.LIGHT_RED + "-q" + Color.NORMAL
-                           + "]\n              [[" + Color.LIGHT_RED + "-w" + Color.NORMAL
+                           + "] [" + Color.LIGHT_RED + "-e" + Color.NORMAL
+                           + "=" + Color.LIGHT_GREEN + "engine" + Color.NORMAL
+                           + "] [" + Color.LIGHT_RED + "-o" + Color.NORMAL
+                           + "=" + Color.LIGHT_GREEN + "file" + Color.NORMAL
+                           + "]\n              " + option("checkpoint-every", "generations")
+                           + " " + option("checkpoint", "prefix")
+                           + " " + option("resume", null)
+                           + "\n              " + option("diff", null)
+                           + " " + option("step", "generations")
+                           + " " + option("viewport", "x,y,width,height")
+                           + "\n              " + option("glyphs", "half|braille")
+                           + " " + option("scale", "cells")
+                           + " " + option("stats", "file")
+                           + " " + option("jfr", "file")
+                           + "\n              " + option("soups", "first,last")
+                           + " " + option("census", "file")
+                           + "\n              [[" + Color.LIGHT_RED + "-w" + Color.NORMAL
                            + "=" + Color.LIGHT_GREEN + "width " + Color.LIGHT_RED
                            + "-h" + Color.NORMAL + "=" + Color.LIGHT_GREEN + "height "
                            + Color.LIGHT_RED + "-d" + Color.NORMAL + "=" + Color.LIGHT_GREEN
-                           + "density" + Color.NORMAL + "] | [FILE]]");
+                           + "density " + Color.NORMAL + option("seed", "seed") + "] | [FILE]]");
+    }
+
+    /**
+     * @param name Nom de l'option longue, sans les tirets.
+     * @param value Nom de sa valeur, null pour une option sans valeur.
+     * @return L'option entre crochets, telle qu'affichée par helpMessage.
+     */
+    private static String option(String name, String value) {
+        return "[" + Color.LIGHT_RED + "--" + name + Color.NORMAL
+               + (value != null ? "=" + Color.LIGHT_GREEN + value + Color.NORMAL : "") + "]";
     }
 }
@@ -0,0 +1,91 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * EngineType.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Liste des moteurs de calcul disponibles, avec leur nom en ligne de commande.
+ * @see LifeEngine
+ * @author Faivre Pierre
+ */
+public enum EngineType {
+    /**
+     * Grille torique calculée 64 cellules à la fois (Grid).
+     */
+    GRID("grid"),
+
+    /**
+     * Grille torique calculée par blocs de 2x2 cellules avec une table
+     * précalculée (LutGrid).
+     */
+    LUT("lut"),
+
+    /**
+     * Grille torique calculée comme GRID, stockée dans un fichier projeté en
+     * mémoire pour dépasser la taille du tas (MappedGrid).
+     */
+    MAPPED("mapped"),
+
+    /**
+     * Plan infini ne stockant que les cellules vivantes (SparseGrid).
+     */
+    SPARSE("sparse"),
+
+    /**
+     * Plan infini calculé par l'algorithme HashLife (HashLife).
+     */
+    HASHLIFE("hashlife"),
+
+    /**
+     * 64 grilles toriques calculées ensemble, un bit par grille dans le mot
+     * de chaque cellule (SlicedBoards). Réservé à la recherche par soupes.
+     */
+    SLICED("sliced");
+
+    private String name;
+
+    EngineType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrouve un moteur à partir de son nom.
+     * @param name Nom du moteur en ligne de commande.
+     * @return Le moteur correspondant, ou null s'il n'existe pas.
+     */
+    public static EngineType fromName(String name) {
+        for (EngineType type : values()) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
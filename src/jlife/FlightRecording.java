@@ -0,0 +1,105 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * FlightRecording.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Enregistrement Java Flight Recorder démarré par l'option --jfr.
+ * Les événements de JLife (GenerationEvent, PatternLoadEvent et FrameEvent)
+ * ne sont créés que pendant un enregistrement : sans l'option, leur coût se
+ * limite à la lecture d'un booléen. Ils s'ajoutent aux événements de la
+ * configuration "default" de la JVM et s'analysent avec les outils habituels
+ * (jfr print, JDK Mission Control).
+ * @author Faivre Pierre
+ */
+public final class FlightRecording {
+
+    /**
+     * Enregistrement en cours, null s'il n'y en a pas.
+     */
+    private static Recording recording;
+
+    /**
+     * Indique si les événements doivent être créés.
+     */
+    private static boolean enabled;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Démarre l'enregistrement.
+     * @param fileName Fichier recevant l'enregistrement à son arrêt.
+     * @throws IOException Si la configuration ne peut pas être lue ou si le
+     *                     fichier ne peut pas être créé.
+     */
+    public static void start(String fileName) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the default Flight Recorder configuration: " + e.getMessage());
+        }
+
+        recording = new Recording(configuration);
+        recording.setName("JLife");
+        recording.enable(GenerationEvent.class);
+        recording.enable(PatternLoadEvent.class);
+        recording.enable(FrameEvent.class);
+        recording.setDestination(Paths.get(fileName));
+        // Écrit aussi si le programme s'arrête sur une erreur.
+        recording.setDumpOnExit(true);
+        recording.start();
+        enabled = true;
+    }
+
+    /**
+     * Arrête l'enregistrement et l'écrit dans son fichier. Sans effet si
+     * aucun enregistrement n'est en cours.
+     */
+    public static void stop() {
+        if (recording == null) {
+            return;
+        }
+        enabled = false;
+        recording.stop();
+        recording.close();
+        recording = null;
+    }
+
+    /**
+     * @return true si un enregistrement est en cours.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+}
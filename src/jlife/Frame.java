@@ -0,0 +1,149 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Frame.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+package jlife;
+
+/**
+ * Image d'une génération, prête à être affichée : soit des lignes déjà mises
+ * en forme, soit une copie des cellules de la fenêtre affichée, un bit par
+ * cellule, mise en forme seulement si l'image est affichée. Une image n'est
+ * plus modifiée une fois créée : elle peut être construite par le fil de
+ * calcul et affichée par un autre.
+ * @see FramePipeline
+ * @author Faivre Pierre
+ */
+public class Frame implements RowSource {
+
+    /**
+     * Lignes de l'image, sans bordures, null pour une copie des cellules.
+     */
+    private final char[][] rows;
+
+    /**
+     * Cellules de la fenêtre mises bout à bout, dont le coin supérieur
+     * gauche est en (0, 0), null pour des lignes mises en forme.
+     */
+    private final long[] cells;
+
+    /**
+     * Dimensions de la fenêtre copiée.
+     */
+    private final int width, height;
+
+    /**
+     * Ligne d'état affichée sous l'image.
+     */
+    private final String status;
+
+    /**
+     * Génération représentée.
+     */
+    private final long generation;
+
+    /**
+     * @param rows Lignes de l'image, sans bordures, qui ne doivent plus être modifiées.
+     * @param status Ligne d'état affichée sous l'image.
+     * @param generation Génération représentée.
+     */
+    public Frame(char[][] rows, String status, long generation) {
+        this.rows = rows;
+        this.cells = null;
+        this.width = rows.length > 0 ? rows[0].length : 0;
+        this.height = rows.length;
+        this.status = status;
+        this.generation = generation;
+    }
+
+    /**
+     * Copie les cellules d'une fenêtre de l'univers d'un moteur, affichées
+     * un caractère par cellule.
+     * @param engine Moteur dont les cellules sont copiées.
+     * @param window Rectangle de cellules à copier.
+     * @param status Ligne d'état affichée sous l'image.
+     */
+    public Frame(LifeEngine engine, BoundingBox window, String status) {
+        this.rows = null;
+        this.width = (int) window.getWidth();
+        this.height = (int) window.getHeight();
+        this.cells = new long[Grid.wordsPerRow(this.width) * this.height];
+        new WindowRows(engine, window).copyRows(0, this.height, this.cells, 0);
+        this.status = status;
+        this.generation = engine.getGeneration();
+    }
+
+    /**
+     * @return Vrai si l'image est une copie des cellules, à mettre en forme.
+     */
+    public boolean hasCells() {
+        return this.cells != null;
+    }
+
+    /**
+     * @return Les lignes de l'image, à ne pas modifier, construites à partir
+     *         des cellules pour une copie des cellules.
+     */
+    public char[][] getRows() {
+        if (this.rows != null) {
+            return this.rows;
+        }
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        char[][] built = new char[this.height][this.width];
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                built[y][x] = (this.cells[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0 ? '#' : ' ';
+            }
+        }
+        return built;
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public void copyRows(int y, int count, long[] dst, int offset) {
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        System.arraycopy(this.cells, y * wordsPerRow, dst, offset, count * wordsPerRow);
+    }
+
+    /**
+     * @return La ligne d'état.
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return La génération représentée.
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+}
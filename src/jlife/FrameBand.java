@@ -0,0 +1,96 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * FrameBand.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bande de lignes d'une image remplie par un fil d'exécution du pool. Une
+ * bande trop haute est coupée en deux jusqu'à atteindre la taille
+ * demandée. Les bandes écrivent dans des parties disjointes du tampon.
+ * @see FrameWriter
+ * @author Faivre Pierre
+ */
+class FrameBand extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FrameWriter writer;
+
+    private final RowSource source;
+
+    private final BoundingBox window;
+
+    /**
+     * Position de la première ligne de la fenêtre dans le tampon.
+     */
+    private final int offset;
+
+    /**
+     * Première ligne de la bande.
+     */
+    private final int from;
+
+    /**
+     * Ligne suivant la dernière ligne de la bande.
+     */
+    private final int to;
+
+    /**
+     * Nombre maximal de lignes d'une bande avant découpage.
+     */
+    private final int grain;
+
+    /**
+     * @param writer Afficheur dont le tampon est rempli.
+     * @param source Lignes dont les cellules sont affichées.
+     * @param window Rectangle de cellules à afficher.
+     * @param offset Position de la première ligne de la fenêtre dans le tampon.
+     * @param from Première ligne de la bande.
+     * @param to Ligne suivant la dernière ligne de la bande.
+     * @param grain Nombre maximal de lignes d'une bande avant découpage.
+     */
+    FrameBand(FrameWriter writer, RowSource source, BoundingBox window, int offset, int from, int to, int grain) {
+        this.writer = writer;
+        this.source = source;
+        this.window = window;
+        this.offset = offset;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.grain) {
+            this.writer.fillRows(this.source, this.window, this.offset, this.from, this.to);
+        } else {
+            int middle = this.from + (this.to - this.from) / 2;
+            invokeAll(new FrameBand(this.writer, this.source, this.window, this.offset, this.from, middle, this.grain),
+                      new FrameBand(this.writer, this.source, this.window, this.offset, middle, this.to, this.grain));
+        }
+    }
+}
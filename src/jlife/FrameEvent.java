@@ -0,0 +1,62 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * FrameEvent.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement Flight Recorder couvrant la construction et l'écriture d'une
+ * image dans la console.
+ * @see FlightRecording
+ * @author Faivre Pierre
+ */
+@Name("jlife.Frame")
+@Label("Frame Render")
+@Category("JLife")
+@Description("Rendering of a frame and its writing to the console")
+public class FrameEvent extends jdk.jfr.Event {
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytes;
+
+    /**
+     * @return Un événement commencé, ou null si aucun enregistrement n'est
+     *         en cours.
+     */
+    static FrameEvent start() {
+        if (!FlightRecording.isEnabled()) {
+            return null;
+        }
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * FramePipeline.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Affichage des images dans un fil d'exécution séparé du calcul.
+ * Le fil de calcul publie chaque génération dans une boîte aux lettres
+ * d'une seule place ; le fil d'affichage y prend la plus récente, au plus
+ * une fois par période. Si l'affichage est plus lent que le calcul, les
+ * images intermédiaires sont remplacées avant d'avoir été affichées : le
+ * calcul n'attend jamais l'affichage.
+ * @see Frame
+ * @author Faivre Pierre
+ */
+public abstract class FramePipeline {
+
+    /**
+     * Intervalle minimal entre deux affichages, en nanosecondes.
+     */
+    private final long period;
+
+    /**
+     * Dernière image publiée et pas encore affichée, null s'il n'y en a pas.
+     */
+    private Frame pending;
+
+    /**
+     * Indique qu'aucune image ne sera plus publiée.
+     */
+    private boolean closed;
+
+    /**
+     * Nombre d'images remplacées avant d'avoir été affichées.
+     */
+    private long dropped;
+
+    /**
+     * Erreur rencontrée par le fil d'affichage, null s'il n'y en a pas eu.
+     */
+    private IOException failure;
+
+    /**
+     * Fil d'affichage, null avant start.
+     */
+    private Thread renderer;
+
+    /**
+     * @param period Intervalle minimal entre deux affichages, en
+     *               nanosecondes, 0 pour afficher chaque image dès sa publication.
+     */
+    public FramePipeline(long period) {
+        this.period = period;
+    }
+
+    /**
+     * Démarre le fil d'affichage. Ce fil n'empêche pas l'arrêt de la
+     * machine virtuelle si close n'est pas appelée.
+     */
+    public void start() {
+        this.renderer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                render();
+            }
+        }, "render");
+        this.renderer.setDaemon(true);
+        this.renderer.start();
+    }
+
+    /**
+     * Publie une image, qui remplace la précédente si celle-ci n'a pas
+     * encore été affichée.
+     * @param frame Image à afficher.
+     */
+    public synchronized void publish(Frame frame) {
+        if (this.pending != null) {
+            this.dropped++;
+        }
+        this.pending = frame;
+        this.notifyAll();
+    }
+
+    /**
+     * Attend que la dernière image publiée soit affichée, puis arrête le
+     * fil d'affichage.
+     * @throws IOException Si l'affichage d'une image a échoué.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            this.closed = true;
+            this.notifyAll();
+        }
+        try {
+            this.renderer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+    }
+
+    /**
+     * @return Le nombre d'images remplacées avant d'avoir été affichées.
+     */
+    public synchronized long getDropped() {
+        return this.dropped;
+    }
+
+    /**
+     * Affiche une image. Appelée dans le fil d'affichage uniquement.
+     * @param frame Image à afficher.
+     * @throws IOException Si l'écriture échoue.
+     */
+    protected abstract void show(Frame frame) throws IOException;
+
+    /**
+     * Boucle du fil d'affichage : affiche la dernière image publiée à chaque
+     * période, jusqu'à la fermeture. En cas de retard, les échéances
+     * suivantes partent de la fin de l'affichage.
+     */
+    private void render() {
+        Frame frame;
+        long deadline = System.nanoTime();
+        try {
+            while ((frame = this.take(deadline)) != null) {
+                this.show(frame);
+                deadline = Math.max(deadline + this.period, System.nanoTime());
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                this.failure = e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Attend une image à afficher et l'échéance de son affichage. Après la
+     * fermeture, la dernière image est rendue sans attendre l'échéance.
+     * @param deadline Échéance, selon System.nanoTime.
+     * @return La dernière image publiée, ou null si le pipeline est fermé
+     *         et toutes les images affichées.
+     */
+    private synchronized Frame take(long deadline) throws InterruptedException {
+        long wait;
+        while (!this.closed) {
+            if (this.pending == null) {
+                this.wait();
+            } else {
+                wait = deadline - System.nanoTime();
+                if (wait <= 0) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, wait);
+            }
+        }
+        Frame frame = this.pending;
+        this.pending = null;
+        return frame;
+    }
+}
@@ -0,0 +1,354 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * FrameWriter.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Affichage de la grille, un caractère par cellule, sans passer par les
+ * chaînes de caractères : l'image est construite octet par octet dans un
+ * tampon réutilisé d'une image à l'autre, puis écrite en une fois sur la
+ * sortie standard. Toutes les lignes d'une image ont la même longueur, les
+ * bandes de lignes d'une grande image sont donc remplies en parallèle.
+ * Le texte produit est le même que celui de Display.renderFrame, utilisé
+ * par l'affichage incrémental. Les images réduites passent par le même
+ * tampon.
+ * @see FrameBand
+ * @author Faivre Pierre
+ */
+public class FrameWriter {
+
+    /**
+     * Nombre minimal de lignes d'une bande lors du remplissage en parallèle.
+     */
+    private static final int MIN_BAND_ROWS = 64;
+
+    /**
+     * Saut de ligne du système.
+     */
+    private static final byte[] SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Taille maximale de la ligne d'état prévue par fits, en octets.
+     */
+    private static final int STATUS_BYTES = 1024;
+
+    /**
+     * Flux recevant les images.
+     */
+    private OutputStream out;
+
+    /**
+     * Tampon de l'image, agrandi seulement si une image ne tient pas dedans.
+     */
+    private byte[] buffer;
+
+    /**
+     * Pool de fils d'exécution remplissant les bandes de l'image en
+     * parallèle, null si le remplissage se fait dans le fil courant.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Nombre de fils d'exécution utilisés pour le remplissage.
+     */
+    private int threads;
+
+    /**
+     * Créée un afficheur écrivant directement dans la sortie standard.
+     * @param threads Nombre de fils d'exécution, 1 pour un remplissage séquentiel.
+     */
+    public FrameWriter(int threads) {
+        this(new FileOutputStream(FileDescriptor.out), threads);
+    }
+
+    /**
+     * Créée un afficheur écrivant dans un flux.
+     * @param out Flux recevant les images.
+     * @param threads Nombre de fils d'exécution, 1 pour un remplissage séquentiel.
+     */
+    public FrameWriter(OutputStream out, int threads) {
+        this.out = out;
+        this.buffer = new byte[0];
+        this.threads = Math.max(1, threads);
+        if (this.threads > 1) {
+            this.pool = new ForkJoinPool(this.threads);
+        }
+    }
+
+    /**
+     * Affiche une fenêtre de l'univers d'un moteur, suivie d'une ligne d'état.
+     * Les messages en attente dans System.out sont écrits avant l'image.
+     * @param engine Moteur dont les cellules sont affichées.
+     * @param window Rectangle de cellules à afficher.
+     * @param status Ligne d'état, sans saut de ligne.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void drawGrid(LifeEngine engine, BoundingBox window, String status) throws IOException {
+        FrameEvent event = FrameEvent.start();
+        int size = this.render(engine, window, status);
+        this.write(size, event);
+    }
+
+    /**
+     * Affiche une image déjà construite, encodée en UTF-8 dans le tampon
+     * quel que soit le codage de la console choisi par Java.
+     * @param rows Lignes de l'image, sans bordures.
+     * @param status Ligne d'état, sans saut de ligne.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void drawFrame(char[][] rows, String status) throws IOException {
+        FrameEvent event = FrameEvent.start();
+        int size = this.render(rows, status);
+        this.write(size, event);
+    }
+
+    /**
+     * Affiche une image publiée par le fil de calcul. Une copie des cellules
+     * est mise en forme directement en octets, comme par drawGrid.
+     * @param frame Image à afficher.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void drawFrame(Frame frame) throws IOException {
+        FrameEvent event = FrameEvent.start();
+        int size;
+        if (frame.hasCells()) {
+            size = this.renderRows(frame, new BoundingBox(0, 0, frame.getWidth(), frame.getHeight()), frame.getStatus());
+        } else {
+            size = this.render(frame.getRows(), frame.getStatus());
+        }
+        this.write(size, event);
+    }
+
+    /**
+     * Indique si une image tient dans le tampon, avec ses bordures et une
+     * ligne d'état d'au plus STATUS_BYTES octets.
+     * @param columns Nombre de caractères d'une ligne, sans bordure.
+     * @param lines Nombre de lignes, sans bordures.
+     * @param charBytes Nombre maximal d'octets d'un caractère.
+     * @return Vrai si l'image peut être construite.
+     */
+    static boolean fits(long columns, long lines, int charBytes) {
+        if (columns < 0 || lines < 0 || columns > Integer.MAX_VALUE / 4) {
+            return false;
+        }
+        long room = Integer.MAX_VALUE - 8 - STATUS_BYTES - SEPARATOR.length - columns;
+        return lines <= room / (charBytes * columns + 1 + SEPARATOR.length);
+    }
+
+    /**
+     * Écrit le début du tampon, après les messages en attente dans System.out.
+     * @param size Nombre d'octets à écrire.
+     * @param event Événement Flight Recorder à terminer, ou null.
+     * @throws IOException Si l'écriture échoue.
+     */
+    private void write(int size, FrameEvent event) throws IOException {
+        System.out.flush();
+        this.out.write(this.buffer, 0, size);
+        this.out.flush();
+        if (event != null) {
+            event.bytes = size;
+            event.commit();
+        }
+    }
+
+    /**
+     * Construit une image déjà découpée en lignes dans le tampon.
+     * @param rows Lignes de l'image, sans bordures.
+     * @param status Ligne d'état, sans saut de ligne.
+     * @return Nombre d'octets de l'image au début du tampon.
+     */
+    int render(char[][] rows, String status) {
+        int width = rows.length > 0 ? rows[0].length : 0;
+        byte[] tail = (status + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        // Au plus trois octets par caractère en UTF-8 (caractères du plan multilingue de base)
+        long capacity = width + SEPARATOR.length + (long) rows.length * (3 * width + 1 + SEPARATOR.length) + tail.length;
+        int size;
+
+        if (!fits(width, rows.length, 3) || capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Frame of " + width + "x" + rows.length + " characters is too large to be displayed");
+        }
+        if (this.buffer.length < capacity) {
+            this.buffer = new byte[(int) capacity];
+        }
+
+        Arrays.fill(this.buffer, 0, width, (byte) '_');
+        System.arraycopy(SEPARATOR, 0, this.buffer, width, SEPARATOR.length);
+        size = width + SEPARATOR.length;
+        for (char[] row : rows) {
+            for (char c : row) {
+                if (c < 0x80) {
+                    this.buffer[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    this.buffer[size++] = (byte) (0xC0 | (c >>> 6));
+                    this.buffer[size++] = (byte) (0x80 | (c & 0x3F));
+                } else {
+                    this.buffer[size++] = (byte) (0xE0 | (c >>> 12));
+                    this.buffer[size++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+                    this.buffer[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            this.buffer[size++] = '|';
+            System.arraycopy(SEPARATOR, 0, this.buffer, size, SEPARATOR.length);
+            size += SEPARATOR.length;
+        }
+        System.arraycopy(tail, 0, this.buffer, size, tail.length);
+        return size + tail.length;
+    }
+
+    /**
+     * Construit l'image dans le tampon. Les lignes d'une grille sont lues
+     * directement, celles des autres moteurs par WindowRows.
+     * @param engine Moteur dont les cellules sont affichées.
+     * @param window Rectangle de cellules à afficher.
+     * @param status Ligne d'état, sans saut de ligne.
+     * @return Nombre d'octets de l'image au début du tampon.
+     */
+    int render(LifeEngine engine, BoundingBox window, String status) {
+        if (engine instanceof BandedGrid) {
+            return this.renderRows((BandedGrid) engine, window, status);
+        }
+        return this.renderRows(new WindowRows(engine, window), new BoundingBox(0, 0, window.getWidth(), window.getHeight()), status);
+    }
+
+    /**
+     * Construit l'image d'une fenêtre de lignes dans le tampon.
+     * @param source Lignes dont les cellules sont affichées.
+     * @param window Rectangle de cellules à afficher.
+     * @param status Ligne d'état, sans saut de ligne.
+     * @return Nombre d'octets de l'image au début du tampon.
+     */
+    int renderRows(RowSource source, BoundingBox window, String status) {
+        if (!fits(window.getWidth(), window.getHeight(), 1)) {
+            throw new IllegalArgumentException("Frame of " + window.getWidth() + "x" + window.getHeight()
+                                               + " cells is too large to be displayed");
+        }
+        int width = (int) window.getWidth();
+        int height = (int) window.getHeight();
+        int rowBytes = width + 1 + SEPARATOR.length;
+        int top = width + SEPARATOR.length;
+        byte[] tail = (status + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        long size = top + (long) height * rowBytes + tail.length;
+
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Status line of " + tail.length + " bytes is too large to be displayed");
+        }
+        if (this.buffer.length < size) {
+            this.buffer = new byte[(int) size];
+        }
+
+        // Ligne supérieure
+        Arrays.fill(this.buffer, 0, width, (byte) '_');
+        System.arraycopy(SEPARATOR, 0, this.buffer, width, SEPARATOR.length);
+
+        // Contenu de la fenêtre, par bandes de lignes
+        if (this.pool == null || height < 2 * MIN_BAND_ROWS) {
+            this.fillRows(source, window, top, 0, height);
+        } else {
+            int grain = Math.max(MIN_BAND_ROWS, height / (4 * this.threads));
+            this.pool.invoke(new FrameBand(this, source, window, top, 0, height, grain));
+        }
+
+        System.arraycopy(tail, 0, this.buffer, top + height * rowBytes, tail.length);
+        return (int) size;
+    }
+
+    /**
+     * Remplit des lignes de l'image, terminées par la bordure droite et un
+     * saut de ligne.
+     * @param source Lignes dont les cellules sont affichées.
+     * @param window Rectangle de cellules à afficher.
+     * @param offset Position de la première ligne de la fenêtre dans le tampon.
+     * @param from Première ligne à remplir.
+     * @param to Ligne suivant la dernière ligne à remplir.
+     */
+    void fillRows(RowSource source, BoundingBox window, int offset, int from, int to) {
+        int width = (int) window.getWidth();
+        int rowBytes = width + 1 + SEPARATOR.length;
+        long[] row = null;
+        int index;
+
+        if (!(source instanceof Grid)) {
+            // Tampon propre à la bande, recevant une ligne de la source à la fois
+            row = new long[Grid.wordsPerRow(source.getWidth())];
+        }
+        for (int y = from; y < to; y++) {
+            index = offset + y * rowBytes;
+            this.fillSourceRow(source, row, window.getX(), window.getY() + y, width, index);
+            this.buffer[index + width] = '|';
+            System.arraycopy(SEPARATOR, 0, this.buffer, index + width + 1, SEPARATOR.length);
+        }
+    }
+
+    /**
+     * Remplit une ligne de l'image en lisant directement les mots d'une
+     * source, sans appel à isAlive par cellule. Les lignes des sources
+     * autres que Grid sont d'abord copiées dans un tampon.
+     * @param source Lignes affichées.
+     * @param row Tampon d'une ligne de la source, inutilisé pour Grid.
+     * @param left Abscisse de la première cellule.
+     * @param y Ordonnée de la ligne.
+     * @param width Nombre de cellules de la ligne.
+     * @param index Position de la ligne dans le tampon.
+     */
+    private void fillSourceRow(RowSource source, long[] row, long left, long y, int width, int index) {
+        if (y < 0 || y >= source.getHeight()) {
+            Arrays.fill(this.buffer, index, index + width, (byte) ' ');
+            return;
+        }
+
+        long[] rows;
+        int base;
+        long x;
+        if (source instanceof Grid) {
+            rows = ((Grid) source).getRows();
+            base = (int) y * ((Grid) source).getWordsPerRow();
+        } else {
+            source.copyRows((int) y, 1, row, 0);
+            rows = row;
+            base = 0;
+        }
+        if (left >= 0 && left + width <= source.getWidth()) {
+            // Ligne entièrement dans la grille : ' ' + 3 vaut '#', sans branchement
+            for (int i = 0; i < width; i++) {
+                x = left + i;
+                this.buffer[index + i] = (byte) (' ' + 3 * ((rows[base + (int) (x >>> 6)] >>> x) & 1));
+            }
+        } else {
+            for (int i = 0; i < width; i++) {
+                x = left + i;
+                this.buffer[index + i] = x >= 0 && x < source.getWidth() && (rows[base + (int) (x >>> 6)] & (1L << x)) != 0
+                                         ? (byte) '#' : (byte) ' ';
+            }
+        }
+    }
+}
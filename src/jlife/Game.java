@@ -18,14 +18,16 @@
  *
  * Game.java
  * Creation : 02/10/2013
- * Last modification : 20/12/2014
+ * Last modification : 18/10/2026
  *
  * Description : Implémentation basique du jeu de la vie de John Horton Conway.
  */
 
 package jlife;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Random;
 import java.util.Scanner;
 
 /**
@@ -37,14 +39,48 @@ public class Game {
     // Variables de paramètre
     private GameMode mode;       // Mode de fonctionnement du programme
     private int delay;           // Délai en mode automatique
-    private int maxGeneration;   // Nombre maximal de générations
+    private long maxGeneration;  // Nombre maximal de générations
     private int width;           // Largeur de la grille
     private int height;          // Hauteur de la grille
     private int density;         // Densité de cellules vivantes en mode aléatoire
+    private long seed;           // Graine de la grille aléatoire
     private String file;         // Fichier contenant un grille à charger
+    private int threads;         // Nombre de fils d'exécution pour le calcul des générations
+    private EngineType engineType; // Moteur de calcul des générations
+    private String output;       // Fichier recevant la dernière génération
+    private long checkpointEvery; // Générations entre deux instantanés, 0 pour aucun
+    private boolean resume;      // Reprise depuis le dernier instantané
+    private String checkpoint;   // Préfixe des fichiers d'instantanés
+    private boolean diff;        // Affichage incrémental en mode automatique
+    private BoundingBox viewport; // Fenêtre demandée, null pour la fenêtre par défaut
+    private GlyphMode glyphs;    // Affichage réduit, null pour un caractère par cellule
+    private int scale;           // Côté en cellules d'un point de l'affichage réduit, 0 pour l'ajuster au terminal
+    private long step;           // Générations calculées entre deux images
+    private String statsFile;    // Fichier recevant les mesures de chaque génération
+    private String jfrFile;      // Fichier recevant l'enregistrement Flight Recorder
+    private long firstSeed;      // Première graine de la recherche par soupes
+    private long lastSeed;       // Dernière graine de la recherche par soupes
+    private String census;       // Fichier recevant le recensement des soupes
 
-    // Grille du jeu
-    private Grid grid;
+    // Moteur du jeu
+    private LifeEngine engine;
+
+    // Fenêtre affichée, ou null pour afficher les cellules vivantes
+    private BoundingBox window;
+
+    // Affichage incrémental, ou null pour redessiner toute la grille
+    private DiffDisplay display;
+
+    // Affichage complet de la grille, un caractère par cellule
+    private FrameWriter writer;
+
+    // Indique qu'une image trop grande pour être affichée a déjà été signalée
+    private boolean tooLarge;
+
+    /**
+     * Enregistreur des mesures de chaque génération, null sans --stats.
+     */
+    private StatsRecorder stats;
 
     public Game(String args[]) throws CommandLineArgumentException, IOException {
         // Valeur par défaut des paramètres
@@ -54,26 +90,104 @@ public class Game {
         this.width = 50;
         this.height = 20;
         this.density = 5;
+        this.seed = new Random().nextLong();
         this.file = null;
+        this.threads = 1;
+        this.engineType = EngineType.GRID;
+        this.output = null;
+        this.checkpointEvery = 0;
+        this.resume = false;
+        this.checkpoint = Checkpointer.DEFAULT_PREFIX;
+        this.diff = false;
+        this.viewport = null;
+        this.glyphs = null;
+        this.scale = 0;
+        this.step = 1;
+        this.statsFile = null;
+        this.jfrFile = null;
+        this.census = "census.csv";
 
         // Interprétation des paramètres de la ligne de commande
         String[] validArguments = {"a", "auto", "g", "generations", "?", "help",
             "i", "interactive", "q", "quiet",
-            "w", "width", "h", "height", "d", "density"};
+            "w", "width", "h", "height", "d", "density", "t", "threads",
+            "e", "engine", "o", "output", "checkpoint-every", "checkpoint", "resume", "diff",
+            "viewport", "glyphs", "scale", "step", "stats", "jfr", "soups", "census", "seed"};
         CommandLineParser clp = new CommandLineParser(args, validArguments);
 
         // Analyse des arguments donnés pour changer les paramètre de fonctionnement du programme
         this.loadParameters(clp);
+        if (this.jfrFile != null) {
+            FlightRecording.start(this.jfrFile);
+        }
+        if (this.mode == GameMode.SOUPS) {
+            // La recherche par soupes crée ses propres grilles.
+            return;
+        }
 
         // Création de la grille.
-        if (this.file != null) {
+        Grid grid = null;
+        if (this.resume) {
+            // Reprise d'un calcul interrompu, jusqu'à la même génération finale,
+            // sur une grille de la taille demandée par le fichier ou par -w et -h
+            int width = this.width;
+            int height = this.height;
+            if (this.file != null) {
+                PatternReader reader = PatternFormat.detect(this.file).newReader(this.file);
+                width = reader.getWidth();
+                height = reader.getHeight();
+            }
+            grid = Checkpointer.resume(this.checkpoint, width, height);
+            Display.successMessage("Resuming from generation " + grid.getGeneration());
+            this.maxGeneration = Math.max(0, this.maxGeneration - grid.getGeneration());
+        }
+        else if (this.file != null && this.engineType != EngineType.MAPPED) {
             // Si un fichier est spécifié, on le charge.
-            this.grid = new Grid(this.file);
+            grid = this.load(this.file);
         }
-        else {
+        else if (this.engineType != EngineType.MAPPED) {
             // Sinon on génère une grille aléatoire.
-            this.grid = new Grid(this.width, this.height, this.density);
+            grid = new Grid(this.width, this.height, this.density, this.seed, this.threads);
+        }
+
+        // Puis du moteur qui la fera évoluer.
+        this.window = null;
+        switch (this.engineType) {
+            case GRID:
+                grid.setThreads(this.threads);
+                this.engine = grid;
+                break;
+            case LUT:
+                grid = new LutGrid(grid);
+                grid.setThreads(this.threads);
+                this.engine = grid;
+                break;
+            case MAPPED:
+                // Le fichier chargé ou la grille aléatoire sont écrits directement dans le fichier projeté.
+                MappedGrid mapped;
+                if (grid != null) {
+                    mapped = new MappedGrid(grid);
+                } else if (this.file != null) {
+                    mapped = this.loadMapped(this.file);
+                } else {
+                    mapped = new MappedGrid(this.width, this.height, this.density, this.seed, this.threads);
+                }
+                mapped.setThreads(this.threads);
+                this.engine = mapped;
+                break;
+            case SPARSE:
+                this.engine = new SparseGrid(grid);
+                break;
+            case HASHLIFE:
+                this.engine = new HashLife(grid, HashLife.DEFAULT_MAX_NODES);
+                // Le motif peut devenir immense, on affiche la fenêtre couverte par la grille initiale.
+                this.window = grid.getBoundingBox();
+                break;
         }
+        if (this.viewport != null) {
+            this.window = this.viewport;
+        }
+        this.writer = new FrameWriter(this.threads);
     }
 
     /**
@@ -96,10 +210,10 @@ public class Game {
         
         // Définition du nombre max de générations
         if (clp.isDefined("g") || clp.isDefined("generations")) {
-            if (clp.getIntegerValue("g") != null) {
-                this.maxGeneration = clp.getIntegerValue("g");
-            } else if (clp.getIntegerValue("generations") != null) {
-                this.maxGeneration = clp.getIntegerValue("generations");
+            if (clp.getLongValue("g") != null) {
+                this.maxGeneration = clp.getLongValue("g");
+            } else if (clp.getLongValue("generations") != null) {
+                this.maxGeneration = clp.getLongValue("generations");
             } else {
                 throw new CommandLineArgumentException("Number of generations must follow -g or --generations");
             }
@@ -133,6 +247,30 @@ public class Game {
             this.mode = GameMode.QUIET;
         }
 
+        // Définition du mode de recherche par soupes
+        if (clp.isDefined("soups")) {
+            if (this.mode != GameMode.AUTO || clp.isDefined("a") || clp.isDefined("auto")) {
+                throw new CommandLineArgumentException("Cannot load multiples modes");
+            }
+            String value = clp.getValue("soups");
+            String[] fields = value != null ? value.split(",") : new String[0];
+            try {
+                if (fields.length != 2) {
+                    throw new NumberFormatException();
+                }
+                this.firstSeed = Long.parseLong(fields[0].trim());
+                this.lastSeed = Long.parseLong(fields[1].trim());
+            } catch (NumberFormatException e) {
+                throw new CommandLineArgumentException("--soups must be followed by first,last seeds");
+            }
+            if (this.lastSeed < this.firstSeed || this.lastSeed - this.firstSeed < 0) {
+                throw new CommandLineArgumentException("Invalid seed range for --soups");
+            }
+            this.mode = GameMode.SOUPS;
+            // Une soupe par fil : tous les processeurs par défaut.
+            this.threads = Runtime.getRuntime().availableProcessors();
+        }
+
         // Définition de l'espace de jeu [largeur+hauteur+densité ou fichier]
         if (clp.isDefined("w") || clp.isDefined("width")) {
             if (clp.getIntegerValue("w") != null) {
@@ -177,88 +315,678 @@ public class Game {
                 this.density = 10;
             }
         }
+
+        if (clp.isDefined("seed")) {
+            if (clp.getLongValue("seed") == null) {
+                throw new CommandLineArgumentException("A number must follow --seed");
+            }
+            if (this.file != null || clp.isDefined("resume")) {
+                throw new CommandLineArgumentException("--seed is only used to generate a random grid");
+            }
+            this.seed = clp.getLongValue("seed");
+        }
+
+        // Définition du nombre de fils d'exécution
+        if (clp.isDefined("t") || clp.isDefined("threads")) {
+            if (clp.getIntegerValue("t") != null) {
+                this.threads = clp.getIntegerValue("t");
+            } else if (clp.getIntegerValue("threads") != null) {
+                this.threads = clp.getIntegerValue("threads");
+            } else {
+                throw new CommandLineArgumentException("Number of threads must follow -t or --threads");
+            }
+
+            if (this.threads < 1) {
+                this.threads = 1;
+            }
+        }
+
+        // Choix du moteur de calcul
+        if (clp.isDefined("e") || clp.isDefined("engine")) {
+            String name = clp.getValue("e") != null ? clp.getValue("e") : clp.getValue("engine");
+            if (name == null) {
+                throw new CommandLineArgumentException("An engine name must follow -e or --engine");
+            }
+            this.engineType = EngineType.fromName(name);
+            if (this.engineType == null) {
+                throw new CommandLineArgumentException("Unknown engine '" + name + "'");
+            }
+        }
+
+        // Fichier recevant la dernière génération
+        if (clp.isDefined("o") || clp.isDefined("output")) {
+            this.output = clp.getValue("o") != null ? clp.getValue("o") : clp.getValue("output");
+            if (this.output == null) {
+                throw new CommandLineArgumentException("A file name must follow -o or --output");
+            }
+        }
+
+        // Instantanés périodiques du mode silencieux, et reprise
+        if (clp.isDefined("checkpoint-every")) {
+            Long every = clp.getLongValue("checkpoint-every");
+            if (every == null || every < 1) {
+                throw new CommandLineArgumentException("A positive number of generations must follow --checkpoint-every");
+            }
+            this.checkpointEvery = every;
+        }
+        this.resume = clp.isDefined("resume");
+        if (this.checkpointEvery > 0 || this.resume) {
+            if (this.mode != GameMode.QUIET) {
+                throw new CommandLineArgumentException("Checkpoints are only available in quiet mode");
+            }
+            if (this.engineType != EngineType.GRID && this.engineType != EngineType.LUT) {
+                throw new CommandLineArgumentException("Checkpoints are only available with the grid and lut engines");
+            }
+        }
+        if (clp.isDefined("checkpoint")) {
+            this.checkpoint = clp.getValue("checkpoint");
+            if (this.checkpoint == null) {
+                throw new CommandLineArgumentException("A file prefix must follow --checkpoint");
+            }
+            if (this.checkpointEvery == 0 && !this.resume) {
+                throw new CommandLineArgumentException("--checkpoint can only be used with --checkpoint-every or --resume");
+            }
+        } else if (this.output != null) {
+            // Instantanés propres à chaque fichier de sortie
+            this.checkpoint = this.output + "-checkpoint";
+        }
+
+        // Affichage incrémental du mode automatique
+        this.diff = clp.isDefined("diff");
+        if (this.diff && this.mode != GameMode.AUTO) {
+            throw new CommandLineArgumentException("Incremental display is only available in auto mode");
+        }
+
+        // Fenêtre affichée
+        if (clp.isDefined("viewport")) {
+            String value = clp.getValue("viewport");
+            String[] fields = value != null ? value.split(",") : new String[0];
+            try {
+                if (fields.length != 4) {
+                    throw new NumberFormatException();
+                }
+                this.viewport = new BoundingBox(Long.parseLong(fields[0].trim()), Long.parseLong(fields[1].trim()),
+                                                Integer.parseInt(fields[2].trim()), Integer.parseInt(fields[3].trim()));
+            } catch (NumberFormatException e) {
+                throw new CommandLineArgumentException("--viewport must be followed by x,y,width,height");
+            }
+            if (this.viewport.getWidth() < 1 || this.viewport.getHeight() < 1) {
+                throw new CommandLineArgumentException("The viewport width and height must be positive");
+            }
+        }
+
+        // Affichage réduit
+        if (clp.isDefined("glyphs")) {
+            String name = clp.getValue("glyphs");
+            this.glyphs = name != null ? GlyphMode.fromName(name) : null;
+            if (this.glyphs == null) {
+                throw new CommandLineArgumentException("--glyphs must be followed by half or braille");
+            }
+        }
+        if (clp.isDefined("scale")) {
+            Integer value = clp.getIntegerValue("scale");
+            if (value == null || value < 1) {
+                throw new CommandLineArgumentException("A positive number of cells must follow --scale");
+            }
+            if (this.glyphs == null) {
+                throw new CommandLineArgumentException("--scale can only be used with --glyphs");
+            }
+            this.scale = value;
+        }
+
+        // Nombre de générations par image
+        if (clp.isDefined("step")) {
+            Long value = clp.getLongValue("step");
+            if (value == null || value < 1) {
+                throw new CommandLineArgumentException("A positive number of generations must follow --step");
+            }
+            if (this.mode != GameMode.AUTO && this.mode != GameMode.INTERACTIVE) {
+                throw new CommandLineArgumentException("--step is only available in auto and interactive modes");
+            }
+            this.step = value;
+        }
+
+        // Fichier des mesures
+        if (clp.isDefined("stats")) {
+            this.statsFile = clp.getValue("stats");
+            if (this.statsFile == null) {
+                throw new CommandLineArgumentException("A file name must follow --stats");
+            }
+        }
+
+        // Enregistrement Flight Recorder
+        if (clp.isDefined("jfr")) {
+            this.jfrFile = clp.getValue("jfr");
+            if (this.jfrFile == null) {
+                throw new CommandLineArgumentException("A file name must follow --jfr");
+            }
+        }
+
+        // Recensement des soupes
+        if (clp.isDefined("census")) {
+            this.census = clp.getValue("census");
+            if (this.census == null) {
+                throw new CommandLineArgumentException("A file name must follow --census");
+            }
+        }
+        if (this.mode == GameMode.SOUPS) {
+            if (this.file != null || this.output != null || this.statsFile != null || clp.isDefined("seed")) {
+                throw new CommandLineArgumentException("--soups cannot be used with a file, --output, --stats or --seed");
+            }
+            if (this.engineType != EngineType.GRID && this.engineType != EngineType.LUT
+                && this.engineType != EngineType.SLICED) {
+                throw new CommandLineArgumentException("--soups is only available with the grid, lut and sliced engines");
+            }
+        } else if (this.engineType == EngineType.SLICED) {
+            throw new CommandLineArgumentException("The sliced engine is only available with --soups");
+        }
     }
 
     /**
      * Démarre le jeu.
      */
-    public void start() {
+    public void start() throws IOException {
         System.out.println("JLife 0.2a");
 
+        if (this.statsFile != null) {
+            this.stats = new StatsRecorder(this.statsFile);
+        }
+
         // Appel d'une méthode différente suivant le mode.
-        switch (this.mode) {
-            case AUTO:
-                this.processDelay();
-                break;
-            case INTERACTIVE:
-                this.processManual();
-                break;
-            case QUIET:
-                this.processQuiet();
-                break;
+        try {
+            switch (this.mode) {
+                case AUTO:
+                    this.processDelay();
+                    break;
+                case INTERACTIVE:
+                    this.processManual();
+                    break;
+                case QUIET:
+                    this.processQuiet();
+                    break;
+                case SOUPS:
+                    this.processSoups();
+                    break;
+            }
+        } finally {
+            // Mesures et dernière génération conservées même si l'affichage a échoué
+            if (this.stats != null) {
+                this.stats.close();
+                this.reportStats();
+            }
+            if (this.output != null) {
+                this.save(this.output);
+            }
+        }
+
+        if (this.jfrFile != null) {
+            FlightRecording.stop();
+            Display.successMessage("Flight recording saved to " + this.jfrFile);
+        }
+    }
+
+    /**
+     * Charge une grille depuis un fichier, dans un événement Flight Recorder
+     * si un enregistrement est en cours.
+     * @param fileName Chemin du fichier.
+     * @return La grille chargée.
+     */
+    private Grid load(String fileName) throws IOException {
+        PatternLoadEvent event = PatternLoadEvent.start(fileName);
+        PatternFormat format = PatternFormat.detect(fileName);
+        Grid grid = new Grid(format.newReader(fileName));
+
+        loaded(event, fileName, format);
+        return grid;
+    }
+
+    /**
+     * Charge un fichier directement dans une grille projetée en mémoire,
+     * par tranches de lignes, comme load.
+     * @param fileName Chemin du fichier.
+     * @return La grille chargée.
+     */
+    private MappedGrid loadMapped(String fileName) throws IOException {
+        PatternLoadEvent event = PatternLoadEvent.start(fileName);
+        PatternFormat format = PatternFormat.detect(fileName);
+        MappedGrid grid = new MappedGrid(format.newReader(fileName));
+
+        loaded(event, fileName, format);
+        return grid;
+    }
+
+    /**
+     * Termine l'événement Flight Recorder d'un chargement de fichier.
+     * @param event Événement commencé avant le chargement, null si aucun
+     *              enregistrement n'est en cours.
+     * @param fileName Chemin du fichier chargé.
+     * @param format Format du fichier.
+     */
+    private static void loaded(PatternLoadEvent event, String fileName, PatternFormat format) {
+        if (event != null) {
+            event.end();
+            event.bytes = new File(fileName).length();
+            event.format = format.name();
+            event.commit();
+        }
+    }
+
+    /**
+     * Enregistre les cellules vivantes de la génération courante, dans le
+     * format correspondant à l'extension du fichier (texte brut par défaut).
+     * @param fileName Chemin du fichier à écrire.
+     */
+    private void save(String fileName) throws IOException {
+        PatternFormat format = PatternFormat.fromFileName(fileName);
+        if (format == null) {
+            format = PatternFormat.PLAIN;
         }
+        format.write(this.engine, this.engine.getBoundingBox(), fileName);
+        Display.successMessage("Generation " + this.engine.getGeneration() + " saved to " + fileName);
     }
 
     /**
      * Exécute la grille et attends que l'utilisateur appuie sur une touche
-     * après chaque génération.
+     * après chaque image, soit toutes les step générations.
      */
-    private void processManual() {
-        int i = 0;
+    private void processManual() throws IOException {
+        long i = 0;
+        long batch;
         boolean isInert = false;
         Scanner sc = new Scanner(System.in);
 
-        Display.drawGrid(this.grid);
+        CycleDetector cycles = new CycleDetector();
+
+        this.draw();
+        cycles.update(this.engine);
         i = 0;
         while (i < this.maxGeneration && !isInert) {
-            isInert = !this.grid.nextGeneration();
-            Display.drawGrid(this.grid);
+            // Les générations d'une image sont demandées en une fois au moteur.
+            batch = Math.min(this.step, this.maxGeneration - i);
+            isInert = !this.nextGenerations(batch);
+            this.draw();
+            if (!isInert && cycles.update(this.engine)) {
+                this.reportCycle(cycles);
+                break;
+            }
             sc.nextLine();
-            i++;
+            i += batch;
         }
         sc.close();
     }
 
     /**
-     * Exécute la grille automatiquement avec délai.
+     * Exécute la grille automatiquement, une image (step générations) par délai.
+     * Le calcul et l'affichage se font dans deux fils différents : le délai
+     * sépare le début de deux générations, quelle que soit la durée du
+     * calcul, et un affichage trop lent saute des images plutôt que de
+     * ralentir le calcul.
      */
-    private void processDelay() {
-        int i = 0;
+    private void processDelay() throws IOException {
+        long i = 0;
+        long batch;
         boolean isInert = false;
+        boolean cycle = false;
+        long period = this.delay * 1000000L;
+        long deadline, wait;
 
-        Display.drawGrid(this.grid);
-        i = 0;
-        while (i < this.maxGeneration && !isInert) {
-            isInert = !this.grid.nextGeneration();
-            Display.drawGrid(this.grid);
-            try {
-                Thread.sleep(this.delay);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
+        CycleDetector cycles = new CycleDetector();
+
+        if (this.diff) {
+            this.display = new DiffDisplay();
+        }
+        FramePipeline pipeline = new FramePipeline(period) {
+            @Override
+            protected void show(Frame frame) throws IOException {
+                Game.this.show(frame);
             }
-            i++;
+        };
+        pipeline.start();
+
+        try {
+            this.publish(pipeline);
+            cycles.update(this.engine);
+            deadline = System.nanoTime();
+            i = 0;
+            while (i < this.maxGeneration && !isInert) {
+                // Attente de l'échéance de la génération suivante ; en cas de
+                // retard, les échéances suivantes partent de maintenant.
+                deadline += period;
+                wait = deadline - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    deadline -= wait;
+                }
+
+                batch = Math.min(this.step, this.maxGeneration - i);
+                isInert = !this.nextGenerations(batch);
+                this.publish(pipeline);
+                if (!isInert && cycles.update(this.engine)) {
+                    cycle = true;
+                    break;
+                }
+                i += batch;
+            }
+        } finally {
+            // La dernière image est toujours affichée avant les messages.
+            pipeline.close();
+        }
+        if (cycle) {
+            this.reportCycle(cycles);
+        }
+        if (pipeline.getDropped() > 0) {
+            Display.warningMessage(pipeline.getDropped() + " frames skipped because displaying was slower than the delay");
         }
     }
 
     /**
      * Exécute la grille en mode silencieux pour calculer plus vite.
      */
-    private void processQuiet() {
-        int i = 0;
-        boolean isInert = false;
-
+    private void processQuiet() throws IOException {
         // Affichage de la grille initiale
-        Display.drawGrid(this.grid);
+        this.draw();
         Display.processingMessage("Computing " + this.maxGeneration + " generations...");
 
-        // Calcul
-        i = 0;
-        while (i < this.maxGeneration && !isInert) {
-            isInert = !this.grid.nextGeneration();
-            i++;
+        if (this.engineType == EngineType.HASHLIFE) {
+            // HashLife calcule déjà les longues périodes en peu de pas, la
+            // recherche de cycles génération par génération le ralentirait.
+            // Les mesures imposent en revanche de calculer une génération à la fois.
+            this.nextGenerations(this.maxGeneration);
+        } else {
+            this.computeQuiet();
         }
 
         // Affichage de la grille finale
-        Display.drawGrid(this.grid);
+        this.draw();
+    }
+
+    /**
+     * Calcule les soupes de l'intervalle de graines demandé, en parallèle,
+     * et écrit leur recensement.
+     */
+    private void processSoups() throws IOException {
+        SoupSearch search = new SoupSearch(this.width, this.height, this.density, this.maxGeneration,
+                                           this.engineType, this.threads);
+        long soups = this.lastSeed - this.firstSeed + 1;
+        long start;
+        double seconds;
+
+        Display.processingMessage("Computing " + soups + " soups of " + this.width + "x" + this.height
+                                  + " cells on " + this.threads + " threads...");
+        start = System.nanoTime();
+        search.run(this.firstSeed, this.lastSeed, this.census);
+        seconds = (System.nanoTime() - start) / 1e9;
+        Display.successMessage(String.format("%d soups computed in %.3f s (%.0f soups/s), census saved to %s",
+                                             soups, seconds, soups / seconds, this.census));
+        if (search.getUnresolved() > 0) {
+            Display.warningMessage(search.getUnresolved() + " soups did not settle within "
+                                   + this.maxGeneration + " generations");
+        }
+    }
+
+    /**
+     * Calcule les générations du mode silencieux une à une, jusqu'à ce que
+     * le jeu devienne inerte ou revienne à un état déjà rencontré. Dans ce
+     * dernier cas, l'état se répétant toutes les P générations, seules les
+     * (maxGeneration - g) mod P dernières générations sont calculées.
+     */
+    private void computeQuiet() throws IOException {
+        long i = 0;
+        long remaining;
+        boolean active = true;
+        CycleDetector cycles = new CycleDetector();
+        Checkpointer checkpoints = null;
+
+        if (this.checkpointEvery > 0) {
+            checkpoints = new Checkpointer(this.checkpointEvery, this.checkpoint);
+        }
+        cycles.update(this.engine);
+        while (i < this.maxGeneration && active) {
+            active = this.nextGenerations(1);
+            i++;
+            if (checkpoints != null) {
+                this.checkpoint(checkpoints, false);
+            }
+            if (active && cycles.update(this.engine)) {
+                remaining = this.maxGeneration - i;
+                this.engine.skipGenerations(remaining - remaining % cycles.getPeriod());
+                this.nextGenerations(remaining % cycles.getPeriod());
+                this.reportCycle(cycles);
+                break;
+            }
+        }
+        if (checkpoints != null) {
+            this.checkpoint(checkpoints, true);
+        }
+    }
+
+    /**
+     * Calcule des générations, en mesurant chacune d'elles si les mesures
+     * sont demandées : le moteur reçoit alors les générations une à une.
+     * @param generations Nombre de générations à calculer.
+     * @return false si la dernière génération n'a rien changé.
+     * @throws IOException Si l'écriture des mesures échoue.
+     */
+    private boolean nextGenerations(long generations) throws IOException {
+        if (this.stats == null) {
+            return this.computeGenerations(generations);
+        }
+
+        boolean changed = true;
+        long start, nanos;
+        for (long i = 0; i < generations && changed; i++) {
+            start = System.nanoTime();
+            changed = this.computeGenerations(1);
+            nanos = System.nanoTime() - start;
+            this.stats.record(this.engine, nanos);
+        }
+        return changed;
+    }
+
+    /**
+     * Fait calculer des générations au moteur, dans un événement Flight
+     * Recorder si un enregistrement est en cours.
+     * @param generations Nombre maximal de générations à calculer.
+     * @return false si le jeu est inerte.
+     */
+    private boolean computeGenerations(long generations) {
+        GenerationEvent event = GenerationEvent.start(this.engineType);
+        if (event == null) {
+            return this.engine.nextGenerations(generations);
+        }
+
+        long first = this.engine.getGeneration();
+        boolean changed = this.engine.nextGenerations(generations);
+        event.end();
+        event.generation = this.engine.getGeneration();
+        event.generations = event.generation - first;
+        event.cells = this.engine.getActiveCells();
+        event.commit();
+        return changed;
+    }
+
+    /**
+     * Affiche le résumé des mesures de chaque génération.
+     */
+    private void reportStats() {
+        LatencyHistogram latencies = this.stats.getLatencies();
+        Display.successMessage(latencies.getCount() + " generations measured in " + this.stats.getFileName()
+                               + String.format(": %.3g cells/s, p50 %d ns, p99 %d ns, max %d ns",
+                                               this.stats.getCellsPerSecond(), latencies.getPercentile(50),
+                                               latencies.getPercentile(99), latencies.getMax()));
+    }
+
+    /**
+     * Enregistre si besoin un instantané de la grille. Un échec n'arrête pas
+     * le calcul, il est seulement signalé.
+     * @param checkpoints Gestionnaire des instantanés.
+     * @param last true pour attendre la fin de l'écriture en cours plutôt
+     *             que d'en commencer une nouvelle.
+     */
+    private void checkpoint(Checkpointer checkpoints, boolean last) {
+        try {
+            if (last) {
+                checkpoints.await();
+            } else {
+                checkpoints.update((Grid) this.engine);
+            }
+        } catch (IOException e) {
+            Display.warningMessage("Cannot write checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Signale le cycle détecté à l'utilisateur.
+     * @param cycles Détecteur ayant trouvé le cycle.
+     */
+    private void reportCycle(CycleDetector cycles) {
+        if (this.step == 1) {
+            Display.successMessage("Cycle of period " + cycles.getPeriod() + " detected from generation " + cycles.getStart());
+        } else {
+            // Seules les générations affichées sont comparées : la période
+            // réelle divise l'écart trouvé, et le cycle peut commencer plus tôt.
+            Display.successMessage("Cycle detected: the state of generation " + cycles.getStart()
+                                   + " comes back every " + cycles.getPeriod() + " generations");
+        }
+    }
+
+    /**
+     * Affiche la génération courante dans le fil courant.
+     */
+    private void draw() throws IOException {
+        if (this.glyphs == null && this.display == null) {
+            // Image complète écrite directement en octets, sans passer par une Frame
+            BoundingBox shown = this.shownWindow();
+            if (this.fits(shown)) {
+                this.writer.drawGrid(this.engine, shown, Display.statusLine(this.engine, shown));
+            }
+        } else {
+            Frame frame = this.snapshot();
+            if (frame != null) {
+                this.show(frame);
+            }
+        }
+    }
+
+    /**
+     * Publie l'image de la génération courante pour le fil d'affichage, si
+     * elle peut être affichée.
+     * @param pipeline Pipeline d'affichage.
+     */
+    private void publish(FramePipeline pipeline) {
+        Frame frame = this.snapshot();
+        if (frame != null) {
+            pipeline.publish(frame);
+        }
+    }
+
+    /**
+     * Vérifie que l'image d'une fenêtre peut être construite. Une image trop
+     * grande n'est pas affichée, ce qui n'est signalé qu'une fois.
+     * @param shown Fenêtre affichée.
+     * @return Vrai si l'image peut être affichée.
+     */
+    private boolean fits(BoundingBox shown) {
+        boolean fits;
+        if (this.glyphs != null) {
+            long cells = this.scale > 0 ? this.scale : this.fitScale(shown);
+            long columns = (shown.getWidth() + cells - 1) / cells;
+            long lines = (shown.getHeight() + cells - 1) / cells;
+            fits = columns * (double) lines < Integer.MAX_VALUE
+                   && FrameWriter.fits((columns + this.glyphs.getColumns() - 1) / this.glyphs.getColumns(),
+                                       (lines + this.glyphs.getRows() - 1) / this.glyphs.getRows(), 3);
+        } else {
+            fits = FrameWriter.fits(shown.getWidth(), shown.getHeight(), 1);
+        }
+        if (!fits && !this.tooLarge) {
+            Display.warningMessage("Frames of " + shown.getWidth() + "x" + shown.getHeight()
+                                   + " cells are too large to be displayed, use --viewport or --glyphs");
+            this.tooLarge = true;
+        }
+        return fits;
+    }
+
+    /**
+     * @return La fenêtre choisie, ou à défaut les cellules vivantes entourées
+     *         d'une marge pour un univers infini.
+     */
+    private BoundingBox shownWindow() {
+        if (this.window != null) {
+            return this.window;
+        } else if (this.engineType == EngineType.SPARSE) {
+            return this.engine.getBoundingBox().grow(1);
+        } else {
+            return this.engine.getBoundingBox();
+        }
+    }
+
+    /**
+     * Construit l'image de la génération courante, qui pourra être affichée
+     * pendant que le moteur calcule la suivante. L'affichage réduit est mis
+     * en forme ici, en comptant les cellules par blocs, pour un coût
+     * proportionnel à la taille du terminal ; sinon seules les cellules de
+     * la fenêtre sont copiées, et mises en forme par le fil d'affichage.
+     * @return Image de la fenêtre affichée, ou null si elle est trop grande.
+     */
+    private Frame snapshot() {
+        BoundingBox shown = this.shownWindow();
+        String status;
+
+        if (!this.fits(shown)) {
+            return null;
+        }
+        status = Display.statusLine(this.engine, shown);
+        if (this.glyphs != null) {
+            int cells = this.scale > 0 ? this.scale : this.fitScale(shown);
+            return new Frame(Display.glyphRows(this.engine, shown, this.glyphs, cells),
+                             status + " ; scale : " + cells, this.engine.getGeneration());
+        }
+        return new Frame(this.engine, shown, status);
+    }
+
+    /**
+     * Affiche une image, entièrement ou seulement ses changements.
+     * @param frame Image à afficher.
+     */
+    private void show(Frame frame) throws IOException {
+        if (this.display != null) {
+            this.display.drawFrame(frame.getRows(), frame.getStatus());
+        } else {
+            this.writer.drawFrame(frame);
+        }
+    }
+
+    /**
+     * Choisit la plus petite échelle de l'affichage réduit pour laquelle la
+     * fenêtre tient dans le terminal, dont la taille est lue dans les
+     * variables d'environnement COLUMNS et LINES (80x24 par défaut).
+     * @param shown Fenêtre affichée.
+     * @return Côté d'un point en nombre de cellules.
+     */
+    private int fitScale(BoundingBox shown) {
+        long columns = (terminalSize("COLUMNS", 80) - 1) * (long) this.glyphs.getColumns(); // Moins la bordure droite
+        long lines = (terminalSize("LINES", 24) - 2) * (long) this.glyphs.getRows();       // Moins la bordure et l'état
+        long cells = Math.max((shown.getWidth() + columns - 1) / columns, (shown.getHeight() + lines - 1) / lines);
+        return (int) Math.max(1, Math.min(cells, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Lit une dimension du terminal dans une variable d'environnement.
+     * @param name Nom de la variable.
+     * @param standard Valeur utilisée si la variable est absente ou invalide.
+     * @return Nombre de caractères, au moins 3.
+     */
+    private static int terminalSize(String name, int standard) {
+        try {
+            String value = System.getenv(name);
+            return value != null ? Math.max(3, Integer.parseInt(value.trim())) : standard;
+        } catch (NumberFormatException e) {
+            return standard;
+        }
     }
 }
@@ -18,7 +18,7 @@
  *
  * GameMode.java
  * Creation : 08/01/2014
- * Last modification : 19/12/2014
+ * Last modification : 18/10/2026
  *
  * Description : Implémentation basique du jeu de la vie de John Horton Conway.
  */
@@ -43,5 +43,11 @@ public enum GameMode {
     /**
      * Mode silencieux. Seules les générations initiale et finale sont affichées.
      */
-    QUIET;
+    QUIET,
+
+    /**
+     * Recherche par soupes. Des grilles aléatoires sont calculées sans
+     * affichage et leur recensement est écrit dans un fichier.
+     */
+    SOUPS;
 }
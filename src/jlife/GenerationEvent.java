@@ -0,0 +1,72 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GenerationEvent.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement Flight Recorder couvrant un appel à LifeEngine.nextGenerations.
+ * @see FlightRecording
+ * @author Faivre Pierre
+ */
+@Name("jlife.Generation")
+@Label("Generation Step")
+@Category("JLife")
+@Description("Computation of one or more generations by an engine")
+public class GenerationEvent extends jdk.jfr.Event {
+
+    @Label("Generation")
+    @Description("Generation reached at the end of the step")
+    long generation;
+
+    @Label("Generations")
+    @Description("Number of generations computed")
+    long generations;
+
+    @Label("Cells Processed")
+    @Description("Cells examined by the engine for the last generation")
+    long cells;
+
+    @Label("Engine")
+    String engine;
+
+    /**
+     * @return Un événement commencé, ou null si aucun enregistrement n'est
+     *         en cours.
+     */
+    static GenerationEvent start(EngineType engine) {
+        if (!FlightRecording.isEnabled()) {
+            return null;
+        }
+        GenerationEvent event = new GenerationEvent();
+        event.engine = engine.toString();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GlyphMode.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Liste des affichages réduits, avec leur nom en ligne de commande. Chaque
+ * caractère représente un rectangle de blocs de cellules, un point du
+ * caractère étant allumé lorsque son bloc contient une cellule vivante.
+ * @see Display#glyphRows
+ * @author Faivre Pierre
+ */
+public enum GlyphMode {
+    /**
+     * Demi-blocs : un caractère pour 1x2 blocs.
+     */
+    HALF("half", 1, 2),
+
+    /**
+     * Braille : un caractère pour 2x4 blocs.
+     */
+    BRAILLE("braille", 2, 4);
+
+    /**
+     * Caractères des demi-blocs, indexés par les bits des blocs du haut et du bas.
+     */
+    private static final char[] HALF_BLOCKS = {' ', '▀', '▄', '█'};
+
+    /**
+     * Points braille de chaque bloc, dans l'ordre des bits (2 * ligne + colonne).
+     */
+    private static final int[] BRAILLE_DOTS = {0x01, 0x08, 0x02, 0x10, 0x04, 0x20, 0x40, 0x80};
+
+    private String name;
+
+    /**
+     * Nombre de blocs d'un caractère en largeur.
+     */
+    private int columns;
+
+    /**
+     * Nombre de blocs d'un caractère en hauteur.
+     */
+    private int rows;
+
+    GlyphMode(String name, int columns, int rows) {
+        this.name = name;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * @return Le nombre de blocs d'un caractère en largeur.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * @return Le nombre de blocs d'un caractère en hauteur.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Donne le caractère représentant un rectangle de blocs.
+     * @param bits Blocs allumés, le bit (ligne * getColumns() + colonne)
+     *             correspondant au bloc (colonne;ligne).
+     * @return Le caractère à afficher.
+     */
+    public char glyph(int bits) {
+        if (this == HALF) {
+            return HALF_BLOCKS[bits];
+        }
+        int dots = 0;
+        for (int i = 0; i < BRAILLE_DOTS.length; i++) {
+            if ((bits & (1 << i)) != 0) {
+                dots |= BRAILLE_DOTS[i];
+            }
+        }
+        return (char) (0x2800 + dots);
+    }
+
+    /**
+     * Retrouve un affichage à partir de son nom.
+     * @param name Nom de l'affichage en ligne de commande.
+     * @return L'affichage correspondant, ou null s'il n'existe pas.
+     */
+    public static GlyphMode fromName(String name) {
+        for (GlyphMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -18,7 +18,7 @@
  *
  * Grid.java
  * Creation : 29/09/2013
- * Last modification : 20/12/2014
+ * Last modification : 18/10/2026
  *
  * Description : Implémentation basique du jeu de la vie de John Horton Conway.
  */
@@ -26,20 +26,44 @@
 package jlife;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * Classe définissant la grille contenant les cellules.
+ * Les cellules sont stockées sous forme de bits : chaque ligne de la grille
+ * occupe un nombre entier de mots de 64 bits, la cellule d'abscisse x se
+ * trouvant dans le bit (x % 64) du mot (x / 64) de sa ligne.
+ *
+ * La grille est aussi découpée en tuiles d'un mot de large sur TILE_ROWS
+ * lignes de haut. Une tuile dont aucune cellule n'a changé lors de la
+ * dernière génération, pas plus que dans les tuiles voisines, ne peut pas
+ * changer : elle n'est pas recalculée.
  * @author Faivre Pierre
  */
-public class Grid {
+public class Grid extends BandedGrid {
 
     /**
-     * Liste contenant toutes les cellules.
+     * Hauteur d'une tuile en nombre de lignes. Une tuile fait un mot, soit
+     * 64 cellules, de large.
      */
-    private ArrayList<Cell> grid;
-    
+    static final int TILE_ROWS = 32;
+
+    /**
+     * Lignes de la grille mises bout à bout, un bit par cellule.
+     */
+    private long[] rows;
+
+    /**
+     * Tampon recevant la génération suivante, échangé avec rows à chaque itération.
+     */
+    private long[] nextRows;
+
+    /**
+     * Nombre de mots de 64 bits occupés par une ligne.
+     */
+    private int wordsPerRow;
+
     /**
      * Largeur de la grille en nombre de cellules
      */
@@ -51,26 +75,53 @@ public class Grid {
     private int height;
 
     /**
-     * Nombre d'itérations écoulées depuis l'initialisation de la grille.
-     * Représente le temps dans le jeu de la vie.
+     * Nombre de lignes de tuiles.
+     */
+    private int tileRows;
+
+    /**
+     * Indique pour chaque tuile si elle a changé lors de la dernière génération.
+     */
+    private boolean[] changedTiles;
+
+    /**
+     * Tampon recevant les changements de la génération en cours de calcul.
      */
-    private int generation;
+    private boolean[] nextChangedTiles;
 
     /**
-     * Nombre de cellules vivantes dans la grille
+     * Indique que toutes les tuiles doivent être recalculées, par exemple
+     * après une modification de la grille.
      */
-    private int population;
+    private boolean allTilesActive;
 
     /**
-     * Créée une nouvelle grille et la remplit avec le fichier spécifié.
+     * Nombre de tuiles recalculées lors de la dernière génération.
+     */
+    private int activeTiles;
+
+    /**
+     * Créée une nouvelle grille et la remplit avec le fichier spécifié, dont
+     * le format est reconnu par PatternFormat.
      */
     public Grid(String file) throws IOException {
-        GridFileReader gfr = new GridFileReader(file);
-        this.width = gfr.getWidth();
-        this.height = gfr.getHeight();
-        this.grid = gfr.getGrid();
-        this.generation = 0;
-        this.population = gfr.getPopulation();
+        this(PatternFormat.detect(file).newReader(file));
+    }
+
+    /**
+     * Créée une nouvelle grille à partir d'un fichier déjà ouvert.
+     * @param reader Lecteur du fichier.
+     */
+    Grid(PatternReader reader) throws IOException {
+        this.width = reader.getWidth();
+        this.height = reader.getHeight();
+        this.wordsPerRow = wordsPerRow(this.width);
+        this.rows = reader.getGrid();
+        this.nextRows = new long[this.rows.length];
+        this.generation = reader.getGeneration();
+        this.population = reader.getPopulation();
+        this.stateHash = this.hashRows();
+        this.initTiles();
     }
 
     /**
@@ -81,44 +132,130 @@ public class Grid {
     public Grid(int width, int height) {
         this.width = width;
         this.height = height;
+        this.wordsPerRow = wordsPerRow(width);
         this.generation = 0;
         this.population = 0;
 
-        this.grid = new ArrayList<>();
-        for (int i = 0; i < width * height; i++) {
-            this.grid.add(new Cell());
-        }
+        this.rows = new long[this.wordsPerRow * height];
+        this.nextRows = new long[this.rows.length];
+        this.stateHash = this.hashRows();
+        this.initTiles();
+    }
+
+    /**
+     * Créée une copie de la grille, à la même génération.
+     * @param grid Grille à copier.
+     */
+    public Grid(Grid grid) {
+        this.width = grid.width;
+        this.height = grid.height;
+        this.wordsPerRow = grid.wordsPerRow;
+        this.generation = grid.generation;
+        this.population = grid.population;
+        this.changed = grid.changed;
+        this.stateHash = grid.stateHash;
+
+        this.rows = grid.rows.clone();
+        this.nextRows = new long[this.rows.length];
+        this.initTiles();
+    }
+
+    /**
+     * Créée les indicateurs de changement des tuiles. Toutes les tuiles
+     * seront calculées lors de la première génération.
+     */
+    private void initTiles() {
+        this.tileRows = (this.height + TILE_ROWS - 1) / TILE_ROWS;
+        this.changedTiles = new boolean[this.tileRows * this.wordsPerRow];
+        this.nextChangedTiles = new boolean[this.changedTiles.length];
+        this.allTilesActive = true;
+        this.activeTiles = 0;
     }
 
     /**
-     * Créée une grille aléatoire de la taille spécifiée.
+     * Créée une grille aléatoire de la taille spécifiée, différente à chaque appel.
      * @param width Nombre de cellules en largeur.
      * @param height Nombre de cellules en hauteur.
      * @param density Densité des cellules vivantes (unité arbitraire de 1 à 10).
      */
     public Grid(int width, int height, int density) {
-        boolean state = false;
-        Random rand = new Random();
-        this.width = width;
-        this.height = height;
-        this.generation = 0;
-        this.population = 0;
+        this(width, height, density, new Random().nextLong());
+    }
+
+    /**
+     * Créée une grille aléatoire reproductible : la même graine donne
+     * toujours la même grille.
+     * @param width Nombre de cellules en largeur.
+     * @param height Nombre de cellules en hauteur.
+     * @param density Densité des cellules vivantes (unité arbitraire de 1 à 10).
+     * @param seed Graine du générateur aléatoire.
+     */
+    public Grid(int width, int height, int density, long seed) {
+        this(width, height, density, seed, 1);
+    }
 
-        // Vérification sur le paramètre de densité
-        if (density < 1)
-            density = 1;
-        else if (density > 10)
-            density = 10;
-
-        this.grid = new ArrayList<>();
-        
-        for (int i = 0; i < width * height; i++) {
-            // 1 chance sur "11 - density" que la cellule soit vivante.
-            state = rand.nextInt(11 - density) + 1 == 1;
-            if (state)
-                population++;
-            this.grid.add(new Cell(state));
+    /**
+     * Créée une grille aléatoire reproductible, remplie par bandes de lignes
+     * en parallèle. La grille obtenue ne dépend pas du nombre de fils, qui
+     * servent ensuite au calcul des générations (voir setThreads).
+     * @param width Nombre de cellules en largeur.
+     * @param height Nombre de cellules en hauteur.
+     * @param density Densité des cellules vivantes (unité arbitraire de 1 à 10).
+     * @param seed Graine du générateur aléatoire.
+     * @param threads Nombre de fils d'exécution.
+     * @see RandomFill
+     */
+    public Grid(int width, int height, int density, long seed, int threads) {
+        this(width, height);
+        RandomFill fill = new RandomFill(width, density, seed);
+        RandomFillBand band;
+
+        this.setThreads(threads);
+        if (this.getPool() == null || this.height < 2 * MIN_BAND_ROWS) {
+            band = new RandomFillBand(fill, this.rows, 0, this.wordsPerRow, 0, this.height, this.height);
+            band.compute();
+        } else {
+            band = new RandomFillBand(fill, this.rows, 0, this.wordsPerRow, 0, this.height,
+                                      Math.max(MIN_BAND_ROWS, this.height / (4 * this.getThreads())));
+            this.getPool().invoke(band);
         }
+        this.population = band.population;
+        this.stateHash = band.hash;
+    }
+
+    /**
+     * Calcule le nombre de mots de 64 bits nécessaires pour stocker une ligne.
+     * @param width Nombre de cellules en largeur.
+     * @return Nombre de mots par ligne.
+     */
+    static int wordsPerRow(int width) {
+        return (width + 63) >>> 6;
+    }
+
+    /**
+     * @return Les lignes de la génération courante, mises bout à bout.
+     */
+    long[] getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public void copyRows(int y, int count, long[] dst, int offset) {
+        System.arraycopy(this.rows, y * this.wordsPerRow, dst, offset, count * this.wordsPerRow);
+    }
+
+    /**
+     * @return Le tampon recevant la génération suivante.
+     */
+    long[] getNextRows() {
+        return this.nextRows;
+    }
+
+    /**
+     * @return Le nombre de mots de 64 bits occupés par une ligne.
+     */
+    int getWordsPerRow() {
+        return this.wordsPerRow;
     }
 
     /**
@@ -136,162 +273,383 @@ public class Grid {
     }
 
     /**
-     * @return La génération actuelle.
+     * @return Le nombre de tuiles de la grille.
      */
-    public int getGeneration() {
-        return this.generation;
+    public int getTileCount() {
+        return this.changedTiles.length;
     }
 
     /**
-     * @return Le nombre de cellules vivantes sur la grille.
+     * @return Le nombre de tuiles recalculées lors de la dernière génération.
      */
-    public int getPopulation() {
-        return this.population;
+    public int getActiveTiles() {
+        return this.activeTiles;
+    }
+
+    /**
+     * Indique l'état de la cellule qui se trouve aux coordonnées (x;y).
+     * @param x Abscisse de la cellule dans la grille.
+     * @param y Ordonnée de la cellule dans la grille.
+     * @return true si la cellule est vivante.
+     */
+    public boolean isAlive(int x, int y) {
+        return (this.rows[y * this.wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    @Override
+    public boolean isAlive(long x, long y) {
+        return x >= 0 && y >= 0 && x < this.width && y < this.height && this.isAlive((int) x, (int) y);
     }
 
     /**
-     * Retourne la cellule dont l'indice est passé en paramètre.
-     * @param i Numéro de la cellule à retourner.
-     * @return Cellule
+     * Les tuiles du bord droit et du bas pouvant être incomplètes, le
+     * résultat est borné par la surface de la grille.
      */
-    public Cell get(int i) {
-        return this.grid.get(i);
+    @Override
+    public long getActiveCells() {
+        return Math.min((long) this.activeTiles * 64 * TILE_ROWS, (long) this.width * this.height);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return new BoundingBox(0, 0, this.width, this.height);
+    }
+
+    @Override
+    public void countBlocks(BoundingBox window, int scale, long[] counts) {
+        long from = Math.max(window.getY(), 0);
+        long to = Math.min(window.getY() + window.getHeight(), this.height);
+
+        for (long y = from; y < to; y++) {
+            countRow(this.rows, (int) y * this.wordsPerRow, y, this.width, window, scale, counts);
+        }
+    }
+
+    /**
+     * Ajoute aux blocs d'une fenêtre les cellules vivantes d'une ligne de
+     * la grille, voir countBlocks.
+     * @param src Tableau contenant la ligne.
+     * @param offset Indice du premier mot de la ligne dans src.
+     * @param y Ordonnée de la ligne, comprise dans la fenêtre.
+     * @param width Nombre de cellules de la ligne.
+     * @param window Rectangle de cellules découpé en blocs.
+     * @param scale Côté d'un bloc en nombre de cellules.
+     * @param counts Nombres de cellules vivantes des blocs.
+     */
+    static void countRow(long[] src, int offset, long y, int width, BoundingBox window, int scale, long[] counts) {
+        int columns = (int) ((window.getWidth() + scale - 1) / scale);
+        int base = (int) ((y - window.getY()) / scale) * columns;
+        long from = Math.max(window.getX(), 0);
+        long to = Math.min(window.getX() + window.getWidth(), width);
+        long end;
+        int block;
+
+        for (long x = from; x < to; x = end) {
+            block = (int) ((x - window.getX()) / scale);
+            end = Math.min(to, window.getX() + (long) (block + 1) * scale);
+            counts[base + block] += countBits(src, offset, (int) x, (int) end);
+        }
+    }
+
+    /**
+     * Compte les cellules vivantes [from;to[ d'une ligne.
+     * @param src Tableau contenant la ligne.
+     * @param offset Indice du premier mot de la ligne dans src.
+     * @param from Première cellule.
+     * @param to Cellule suivant la dernière cellule, strictement supérieure à from.
+     * @return Nombre de cellules vivantes.
+     */
+    static int countBits(long[] src, int offset, int from, int to) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        int count = 0;
+        long mask;
+
+        for (int i = first; i <= last; i++) {
+            mask = -1L;
+            if (i == first) {
+                mask &= -1L << from;
+            }
+            if (i == last) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            count += Long.bitCount(src[offset + i] & mask);
+        }
+        return count;
+    }
+
+    /**
+     * Modifie l'état de la cellule qui se trouve aux coordonnées (x;y).
+     * @param x Abscisse de la cellule dans la grille.
+     * @param y Ordonnée de la cellule dans la grille.
+     * @param alive Nouvel état de la cellule.
+     */
+    public void setAlive(int x, int y, boolean alive) {
+        if (this.isAlive(x, y) != alive) {
+            int index = y * this.wordsPerRow + (x >>> 6);
+            this.stateHash ^= hashWord(index, this.rows[index]);
+            this.rows[index] ^= 1L << x;
+            this.stateHash ^= hashWord(index, this.rows[index]);
+            this.population += alive ? 1 : -1;
+            this.allTilesActive = true;
+        }
     }
 
     /**
-     * Modifie la grille pour arriver à l'itération suivante.
-     * @return Booléen valant false si la grille est inerte
+     * Échange les lignes et les indicateurs de changement des tuiles avec
+     * leurs tampons.
      */
-    public boolean nextGeneration() {
-        boolean inert = true;    // Indique si la grille a changé depuis la dernière génération
-        int livingNeighbors = 0; // Compteur de cellules voisines vivantes à une autre cellule
-        boolean nextGenerationState;
+    @Override
+    void swap(GridBand band) {
+        this.activeTiles = band.activeTiles;
+        this.allTilesActive = false;
+
+        long[] tmp = this.rows;
+        this.rows = this.nextRows;
+        this.nextRows = tmp;
+        boolean[] tmpTiles = this.changedTiles;
+        this.changedTiles = this.nextChangedTiles;
+        this.nextChangedTiles = tmpTiles;
+    }
 
-        // On boucle pour déterminer pour chaque cellule le nombre de voisins vivants.
-        // Suivant l'état actuel de la cellule on détermine alors son état suivant.
-        for (int i = 0; i < this.width * this.height; i++) {
-            Cell c = this.grid.get(i);
-            livingNeighbors = this.getLivingNeighbors(i);
-            // S'il y a 2 voisins, la cellule garde son état.
-            if (livingNeighbors == 2) {
-                nextGenerationState = c.isAlive();
+    /**
+     * Calcule la génération suivante des lignes d'une bande.
+     * Les lignes voisines des bords de la bande sont lues dans la génération
+     * courante, qui n'est pas modifiée pendant le calcul. Seules les tuiles
+     * actives sont calculées : les autres n'ont pas changé depuis deux
+     * générations, le tampon de la génération suivante contient donc déjà
+     * leur état.
+     * @param band Bande à calculer, alignée sur les tuiles, qui reçoit ses
+     *             nombres de naissances, de morts et de tuiles actives.
+     */
+    @Override
+    void stepBand(GridBand band) {
+        long births = 0;
+        long deaths = 0;
+        long hash = 0;
+        int activeTiles = 0;
+        long result;
+        int up, down;     // Indices des lignes voisines, le haut et le bas de la grille se rejoignant
+        int[] runs = new int[this.wordsPerRow + 1];  // Suites de tuiles actives [début;fin[
+        long[] changes = new long[this.wordsPerRow]; // Cellules de chaque tuile ayant changé d'état
+        int runCount, tileRow, tileEnd;
+
+        for (int y0 = band.getFrom(); y0 < band.getTo(); y0 = tileEnd) {
+            tileRow = y0 / TILE_ROWS;
+            tileEnd = Math.min(band.getTo(), (tileRow + 1) * TILE_ROWS);
+            runCount = this.activeRuns(tileRow, runs);
+            Arrays.fill(changes, 0L);
+
+            for (int r = 0; r < runCount; r += 2) {
+                activeTiles += runs[r + 1] - runs[r];
             }
-            // S'il y a 3 voisins, la cellule naîtra.
-            else if (livingNeighbors == 3) {
-                nextGenerationState = true;
+
+            for (int y = y0; y < tileEnd && runCount > 0; y++) {
+                up = (y > 0 ? y - 1 : this.height - 1) * this.wordsPerRow;
+                down = (y < this.height - 1 ? y + 1 : 0) * this.wordsPerRow;
+
+                for (int r = 0; r < runCount; r += 2) {
+                    result = stepRow(this.rows, up, y * this.wordsPerRow, down, this.nextRows, y * this.wordsPerRow,
+                                     runs[r], runs[r + 1], this.wordsPerRow, this.width, changes);
+                    births += result & 0xFFFFFFFFL;
+                    deaths += result >>> 32;
+                    hash ^= this.hashChanges(y, y + 1, runs[r], runs[r + 1]);
+                }
             }
-            // Sinon, il y a 0 ou 1 ou plus de 4 voisins vivants, la cellule sera alors morte.
-            else {
-                nextGenerationState = false;
+
+            for (int i = 0; i < this.wordsPerRow; i++) {
+                this.nextChangedTiles[tileRow * this.wordsPerRow + i] = changes[i] != 0;
             }
+        }
 
-            // On applique le futur état
-            c.setNextGenerationState(nextGenerationState);
+        band.births = births;
+        band.deaths = deaths;
+        band.hash = hash;
+        band.activeTiles = activeTiles;
+    }
 
-            // Si la cellule change, alors la grille n'est pas inerte
-            if (c.isAlive() != nextGenerationState) {
-                inert = false;
+    /**
+     * Calcule la variation de l'empreinte due à une génération sur un
+     * rectangle de mots, une fois celle-ci écrite dans nextRows.
+     * @param fromRow Première ligne.
+     * @param toRow Ligne suivant la dernière ligne.
+     * @param fromWord Premier mot de chaque ligne.
+     * @param toWord Mot suivant le dernier mot de chaque ligne.
+     * @return Valeur à combiner par ou exclusif avec l'empreinte.
+     */
+    long hashChanges(int fromRow, int toRow, int fromWord, int toWord) {
+        long delta = 0;
+        int index;
+
+        for (int y = fromRow; y < toRow; y++) {
+            for (int i = fromWord; i < toWord; i++) {
+                index = y * this.wordsPerRow + i;
+                if (this.rows[index] != this.nextRows[index]) {
+                    delta ^= hashWord(index, this.rows[index]) ^ hashWord(index, this.nextRows[index]);
+                }
             }
         }
+        return delta;
+    }
 
-        // On boucle ensuite pour appliquer ces changements.
-        this.population = 0;
-        for (int i = 0; i < this.width * this.height; i++) {
-            this.grid.get(i).changeState();
-            // On compte au passage le nombre de cellules restantes.
-            if (this.grid.get(i).isAlive())
-                this.population++;
+    /**
+     * @return L'empreinte de toute la grille, calculée mot par mot.
+     */
+    private long hashRows() {
+        long hash = 0;
+        for (int i = 0; i < this.rows.length; i++) {
+            hash ^= hashWord(i, this.rows[i]);
         }
+        return hash;
+    }
 
-        this.generation++;
-        return this.population > 0 && !inert;
-    }
-
-    /**
-     * Compte le nombre de cellules vivantes autour de la cellule spécifiée.
-     * Si une cellule est au bord de la grille, son voisin est alors la
-     * cellule de l'autre côté.
-     * @param i Indice de la cellule dans la grille.
-     * @return Nombre de cellules vivantes autour de la cellule spécifiée.
-     * TODO: Revoir l'algorithme de vérification sur les voisins.
-     */
-    private int getLivingNeighbors(int i) {
-        int count = 0;  // Compteur de voisins vivants
-        int x = 0;      // Abscisse de la cellule
-        int y = 0;      // Abscisse de la cellule
-        Cell c = null;  // Voisin à interroger
-        int in = 0;     // Indice dans la grille du voisin à interroger
-        int xn = 0;     // Abscisse de la cellule voisine
-        int yn = 0;     // Abscisse de la cellule voisine
-
-        // Calcul des coordonnées de notre cellule dans le plan cartésien
-        y = i / this.width; // y = indice / largeur (division entière)
-        x = i % this.width; // x = reste de cette division
-
-        // Ordre d'interrogation des voisins :
-        // 1 2 3
-        // 4 # 5
-        // 6 7 8
-
-        // Voisin 1 (x-1;y-1)
-        xn = x > 0 ? x-1 : this.width-1;
-        yn = y > 0 ? y-1 : this.height-1;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 2 (x;y-1)
-        xn = x;
-        yn = y > 0 ? y-1 : this.height-1;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 3 (x+1;y-1)
-        xn = x < this.width-1 ? x+1 : 0;
-        yn = y > 0 ? y-1 : this.height-1;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 4 (x-1;y)
-        xn = x > 0 ? x-1 : this.width-1;
-        yn = y;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 5 (x+1;y)
-        xn = x < this.width-1 ? x+1 : 0;
-        yn = y;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 6 (x-1;y+1)
-        xn = x > 0 ? x-1 : this.width-1;
-        yn = y < this.height-1 ? y+1 : 0;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 7 (x;y+1)
-        xn = x;
-        yn = y < this.height-1 ? y+1 : 0;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
-
-        // Voisin 8 (x+1;y+1)
-        xn = x < this.width-1 ? x+1 : 0;
-        yn = y < this.height-1 ? y+1 : 0;
-        c = this.getCell(xn, yn);              // On récupère la cellule
-        count = c.isAlive() ? count+1 : count; // On incrémente si la cellule est vivante
+    /**
+     * Empreinte d'un mot de la grille, dépendant de sa position.
+     * @param index Indice du mot dans rows.
+     * @param word Valeur du mot.
+     * @return Empreinte du mot.
+     */
+    static long hashWord(long index, long word) {
+        return CycleDetector.mix(word + index * 0xC2B2AE3D27D4EB4FL);
+    }
 
+    /**
+     * Détermine les tuiles actives d'une ligne de tuiles : celles qui ont
+     * changé lors de la dernière génération ou dont une voisine a changé.
+     * @param tileRow Ligne de tuiles.
+     * @param runs Tableau recevant les suites de tuiles actives, sous forme
+     *             de couples (première tuile, tuile suivant la dernière).
+     * @return Nombre de valeurs écrites dans runs (deux par suite).
+     */
+    private int activeRuns(int tileRow, int[] runs) {
+        int count = 0;
+        boolean active;
+        boolean inRun = false;
+
+        if (this.allTilesActive) {
+            runs[0] = 0;
+            runs[1] = this.wordsPerRow;
+            return this.wordsPerRow > 0 ? 2 : 0;
+        }
+
+        // Lignes de tuiles voisines, le haut et le bas de la grille se rejoignant
+        int above = (tileRow > 0 ? tileRow - 1 : this.tileRows - 1) * this.wordsPerRow;
+        int middle = tileRow * this.wordsPerRow;
+        int below = (tileRow < this.tileRows - 1 ? tileRow + 1 : 0) * this.wordsPerRow;
+        int left, right;
+
+        for (int i = 0; i < this.wordsPerRow; i++) {
+            left = i > 0 ? i - 1 : this.wordsPerRow - 1;
+            right = i < this.wordsPerRow - 1 ? i + 1 : 0;
+            active = this.changedTiles[above + left] || this.changedTiles[above + i] || this.changedTiles[above + right]
+                  || this.changedTiles[middle + left] || this.changedTiles[middle + i] || this.changedTiles[middle + right]
+                  || this.changedTiles[below + left] || this.changedTiles[below + i] || this.changedTiles[below + right];
+            if (active != inRun) {
+                runs[count++] = i;
+                inRun = active;
+            }
+        }
+        if (inRun) {
+            runs[count++] = this.wordsPerRow;
+        }
         return count;
     }
 
     /**
-     * Retourne la cellule qui se trouve aux coordonnées cartésiennes (x;y)
-     * @param x Abscisse de la cellule dans la grille.
-     * @param y Ordonnée de la cellule dans la grille.
-     * @return Référence vers la cellule à cet endroit.
+     * Calcule la génération suivante des mots [from;to[ d'une ligne.
+     * Chaque mot de 64 cellules est traité en une fois : les huit voisins de
+     * chaque bit sont obtenus par décalage des mots des lignes du dessus, du
+     * dessous et de la ligne elle-même, puis additionnés bit à bit par des
+     * additionneurs complets. Les bords gauche et droit de la ligne se
+     * rejoignent, comme le haut et le bas de la grille.
+     * @param src Lignes de la génération courante.
+     * @param up Indice du premier mot de la ligne du dessus.
+     * @param mid Indice du premier mot de la ligne à calculer.
+     * @param down Indice du premier mot de la ligne du dessous.
+     * @param dst Tableau recevant la génération suivante.
+     * @param out Indice du premier mot de la ligne dans dst.
+     * @param from Premier mot à calculer.
+     * @param to Mot suivant le dernier mot à calculer.
+     * @param words Nombre de mots par ligne.
+     * @param width Nombre de cellules par ligne.
+     * @param changes Cumul des changements de chaque mot de la ligne, qui
+     *                reçoit les bits des cellules ayant changé d'état.
+     * @return Nombre de naissances dans les 32 bits de poids faible, nombre
+     *         de morts dans les 32 bits de poids fort.
      */
-    private Cell getCell(int x, int y) {
-        return this.grid.get(x + this.width * y);
+    static long stepRow(long[] src, int up, int mid, int down, long[] dst, int out,
+                        int from, int to, int words, int width, long[] changes) {
+        int last = words - 1;            // Dernier mot de la ligne
+        int lastBit = (width - 1) & 63;  // Position de la dernière cellule dans le dernier mot
+        long lastMask = -1L >>> (63 - lastBit);
+        long births = 0;
+        long deaths = 0;
+        long n, c, s;                    // Mots des lignes du dessus, courante et du dessous
+        long nw, ne, w, e, sw, se;       // Voisins décalés d'une colonne
+        long a, upS, upC, dnS, dnC, midS, midC, ones, onesC, p1, q1, p2, q2, next;
+
+        for (int i = from; i < to; i++) {
+            n = src[up + i];
+            c = src[mid + i];
+            s = src[down + i];
+
+            // Voisins de gauche (x-1) : la cellule 0 reçoit la dernière cellule du mot précédent.
+            if (i > 0) {
+                nw = (n << 1) | (src[up + i - 1] >>> 63);
+                w = (c << 1) | (src[mid + i - 1] >>> 63);
+                sw = (s << 1) | (src[down + i - 1] >>> 63);
+            } else {
+                nw = (n << 1) | ((src[up + last] >>> lastBit) & 1);
+                w = (c << 1) | ((src[mid + last] >>> lastBit) & 1);
+                sw = (s << 1) | ((src[down + last] >>> lastBit) & 1);
+            }
+
+            // Voisins de droite (x+1) : la cellule 63 reçoit la première cellule du mot suivant.
+            if (i < last) {
+                ne = (n >>> 1) | (src[up + i + 1] << 63);
+                e = (c >>> 1) | (src[mid + i + 1] << 63);
+                se = (s >>> 1) | (src[down + i + 1] << 63);
+            } else {
+                ne = (n >>> 1) | ((src[up] & 1) << lastBit);
+                e = (c >>> 1) | ((src[mid] & 1) << lastBit);
+                se = (s >>> 1) | ((src[down] & 1) << lastBit);
+            }
+
+            // Somme des trois voisins du dessus : bit des unités et retenue
+            a = nw ^ n;
+            upS = a ^ ne;
+            upC = (nw & n) | (a & ne);
+            // Somme des trois voisins du dessous
+            a = sw ^ s;
+            dnS = a ^ se;
+            dnC = (sw & s) | (a & se);
+            // Somme des deux voisins de la ligne
+            midS = w ^ e;
+            midC = w & e;
+            // Somme des trois bits d'unités
+            a = upS ^ dnS;
+            ones = a ^ midS;
+            onesC = (upS & dnS) | (a & midS);
+
+            // Le total vaut 2 ou 3 si et seulement si exactement une des
+            // quatre retenues (de poids 2) est présente.
+            p1 = upC ^ dnC;
+            q1 = upC & dnC;
+            p2 = midC ^ onesC;
+            q2 = midC & onesC;
+
+            // 3 voisins : naissance ou survie, 2 voisins : la cellule garde son état.
+            next = (p1 ^ p2) & ~(q1 | q2) & (ones | c);
+            if (i == last) {
+                next &= lastMask; // On ne touche pas aux bits de bourrage
+            }
+
+            dst[out + i] = next;
+            births += Long.bitCount(next & ~c);
+            deaths += Long.bitCount(c & ~next);
+            changes[i] |= next ^ c;
+        }
+
+        return births | (deaths << 32);
     }
 }
-
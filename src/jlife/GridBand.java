@@ -0,0 +1,124 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GridBand.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bande horizontale d'une grille, Grid ou MappedGrid, calculée par un fil
+ * d'exécution du pool.
+ * Une bande trop haute est coupée en deux jusqu'à atteindre la taille
+ * demandée. Chaque bande ne lit que la génération courante (y compris les
+ * lignes voisines de ses bords) et n'écrit que ses propres lignes dans le
+ * tampon de la génération suivante, aucun verrou n'est donc nécessaire.
+ * @see BandedGrid
+ * @author Faivre Pierre
+ */
+class GridBand extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BandedGrid grid;
+
+    /**
+     * Première ligne de la bande.
+     */
+    private final int from;
+
+    /**
+     * Ligne suivant la dernière ligne de la bande.
+     */
+    private final int to;
+
+    /**
+     * Nombre maximal de lignes d'une bande avant découpage.
+     */
+    private final int grain;
+
+    /**
+     * Nombre de cellules de la bande nées lors du calcul.
+     */
+    long births;
+
+    /**
+     * Nombre de cellules de la bande mortes lors du calcul.
+     */
+    long deaths;
+
+    /**
+     * Variation de l'empreinte de la grille due à la bande.
+     */
+    long hash;
+
+    /**
+     * Nombre de tuiles de la bande recalculées.
+     */
+    int activeTiles;
+
+    /**
+     * @param grid Grille à calculer.
+     * @param from Première ligne de la bande.
+     * @param to Ligne suivant la dernière ligne de la bande.
+     * @param grain Nombre maximal de lignes d'une bande avant découpage.
+     */
+    GridBand(BandedGrid grid, int from, int to, int grain) {
+        this.grid = grid;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.grain) {
+            this.grid.stepBand(this);
+        } else {
+            // Découpage en deux demi-bandes alignées sur les tuiles, puis réduction de leurs résultats.
+            int middle = this.from + ((this.to - this.from) / 2 + Grid.TILE_ROWS - 1) / Grid.TILE_ROWS * Grid.TILE_ROWS;
+            GridBand top = new GridBand(this.grid, this.from, middle, this.grain);
+            GridBand bottom = new GridBand(this.grid, middle, this.to, this.grain);
+            invokeAll(top, bottom);
+            this.births = top.births + bottom.births;
+            this.deaths = top.deaths + bottom.deaths;
+            this.hash = top.hash ^ bottom.hash;
+            this.activeTiles = top.activeTiles + bottom.activeTiles;
+        }
+    }
+
+    /**
+     * @return La première ligne de la bande.
+     */
+    int getFrom() {
+        return this.from;
+    }
+
+    /**
+     * @return La ligne suivant la dernière ligne de la bande.
+     */
+    int getTo() {
+        return this.to;
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GridFileChunk.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Morceau d'un fichier de grille projeté en mémoire, composé de lignes
+ * entières. Le morceau est d'abord mesuré (nombre de lignes, plus longue
+ * ligne, population), puis, une fois la grille allouée, ses cellules y
+ * sont écrites. Les morceaux ne partageant aucune ligne, ils écrivent dans
+ * des mots distincts de la grille et peuvent être traités en parallèle.
+ * @see GridFileReader
+ * @author Faivre Pierre
+ */
+class GridFileChunk extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Contenu du morceau, commençant au début d'une ligne.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Indice de la première ligne du morceau dans la grille.
+     */
+    int firstLine;
+
+    /**
+     * Nombre de lignes du morceau, la dernière pouvant ne pas être terminée
+     * par un saut de ligne.
+     */
+    int lines;
+
+    /**
+     * Longueur de la plus longue ligne du morceau.
+     */
+    int width;
+
+    /**
+     * Nombre de '#' dans le morceau.
+     */
+    int population;
+
+    /**
+     * Grille à remplir, null lors de la mesure.
+     */
+    private long[] grid;
+
+    /**
+     * Nombre de mots de 64 bits par ligne de la grille à remplir.
+     */
+    private int wordsPerRow;
+
+    /**
+     * Indice de la ligne du fichier écrite au début de la grille à remplir.
+     */
+    private int firstRow;
+
+    /**
+     * @param buffer Contenu du morceau, commençant au début d'une ligne.
+     */
+    GridFileChunk(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Prépare l'écriture du morceau dans la grille, à partir de la ligne
+     * firstLine.
+     * @param grid Lignes de la grille mises bout à bout, vides.
+     * @param wordsPerRow Nombre de mots de 64 bits par ligne.
+     * @param firstRow Indice de la ligne du fichier correspondant à la
+     *                 première ligne de grid, 0 pour la grille entière.
+     */
+    void fill(long[] grid, int wordsPerRow, int firstRow) {
+        this.grid = grid;
+        this.wordsPerRow = wordsPerRow;
+        this.firstRow = firstRow;
+        this.reinitialize();
+    }
+
+    @Override
+    protected void compute() {
+        if (this.grid == null) {
+            this.measure();
+        } else {
+            this.write();
+        }
+    }
+
+    /**
+     * Compte les lignes, la largeur et la population du morceau.
+     */
+    private void measure() {
+        int limit = this.buffer.limit();
+        int lineWidth = 0;
+        int b;
+
+        for (int i = 0; i < limit; i++) {
+            b = this.buffer.get(i);
+            if (b == '\n') {
+                this.width = Math.max(this.width, lineWidth);
+                this.lines++;
+                lineWidth = 0;
+            } else if (isCharacter(b)) {
+                if (b == '#') {
+                    this.population++;
+                }
+                lineWidth++;
+            }
+        }
+        // Dernière ligne du fichier sans saut de ligne
+        if (limit > 0 && this.buffer.get(limit - 1) != '\n') {
+            this.width = Math.max(this.width, lineWidth);
+            this.lines++;
+        }
+    }
+
+    /**
+     * Écrit les cellules du morceau dans la grille, un mot à la fois.
+     */
+    private void write() {
+        int limit = this.buffer.limit();
+        int row = (this.firstLine - this.firstRow) * this.wordsPerRow;
+        int x = 0;
+        long word = 0;
+        int b;
+
+        for (int i = 0; i < limit; i++) {
+            b = this.buffer.get(i);
+            if (b == '\n') {
+                if (word != 0) {
+                    this.grid[row + (x >>> 6)] = word;
+                }
+                row += this.wordsPerRow;
+                x = 0;
+                word = 0;
+            } else if (isCharacter(b)) {
+                if (b == '#') {
+                    word |= 1L << x;
+                }
+                x++;
+                if ((x & 63) == 0) {
+                    this.grid[row + ((x - 1) >>> 6)] = word;
+                    word = 0;
+                }
+            }
+        }
+        if (word != 0) {
+            this.grid[row + (x >>> 6)] = word;
+        }
+    }
+
+    /**
+     * Indique si un octet commence un caractère. Les octets de continuation
+     * d'un caractère UTF-8 (10xxxxxx) ne comptent pas comme des cellules.
+     * @param b Octet lu.
+     * @return true si l'octet représente une nouvelle cellule.
+     */
+    private static boolean isCharacter(int b) {
+        return (b & 0xC0) != 0x80;
+    }
+}
@@ -18,16 +18,20 @@
  *
  * GridFileReader.java
  * Creation : 12/01/2014
- * Last modification : 19/12/2014
+ * Last modification : 18/10/2026
  *
  * Description : Implémentation basique du jeu de la vie de John Horton Conway.
  */
 
 package jlife;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Classe permettant le chargement d'une grille depuis un fichier texte.
@@ -36,82 +40,207 @@ import java.util.ArrayList;
  * Tous les autres caractères sont considérés comme des cellules mortes.
  * La longueur de la plus longue ligne détermine la largeur de la grille.
  * Le nombre de lignes du fichier détermine la hauteur de la grille.
+ *
+ * Le fichier est projeté en mémoire puis découpé en morceaux de lignes
+ * entières, traités en parallèle : ils sont mesurés dans le constructeur,
+ * puis écrits directement dans la grille par getGrid. Le contenu du fichier
+ * n'est jamais copié dans le tas, seule la grille y est allouée, ou
+ * seulement une tranche de lignes à la fois avec readRows.
+ * @see GridFileChunk
  * @author Faivre Pierre
  */
-public class GridFileReader {
-    
+public class GridFileReader implements PatternReader {
+
+    /**
+     * Taille minimale d'un morceau, en dessous de laquelle le découpage
+     * coûte plus qu'il ne rapporte.
+     */
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Taille maximale d'un morceau, une projection étant limitée à 2 Go.
+     */
+    private static final long MAX_CHUNK_BYTES = 1 << 30;
+
+    /**
+     * Taille visée d'une tranche de lignes transmise par readRows, en mots
+     * de 64 bits.
+     */
+    private static final int SLICE_WORDS = 1 << 23;
+
     private int width;
     private int height;
-    private int population;
+    private long population;
     private String fileName;
+
+    /**
+     * Morceaux du fichier, dans l'ordre.
+     */
+    private List<GridFileChunk> chunks;
     
     /**
      * @param fileName Chemin du fichier à charger.
      */
     public GridFileReader(String fileName) throws IOException {
         this.fileName = fileName;
-        FileReader fr = new FileReader(this.fileName);
+        RandomAccessFile file = new RandomAccessFile(this.fileName, "r");
+        try {
+            // Les projections restent valables après la fermeture du fichier.
+            this.chunks = this.split(file.getChannel());
+        } finally {
+            file.close();
+        }
         this.width = 0;
         this.height = 0;
         this.population = 0;
-        
+
         // *** Calcul des dimensions de la grille ***
-        int lineWidth = 0;
-        int c = fr.read(); // Première lecture
-        while (c != -1) {  // Tant qu'on n'atteint pas la fin du fichier
-            while (c != '\n' && c != -1) { // Tant qu'on atteint pas la fin de ligne
-                if (c == '#')
-                    this.population++;
-                lineWidth++;
-                c = fr.read();
+        run(this.chunks);
+        for (GridFileChunk chunk : this.chunks) {
+            chunk.firstLine = this.height;
+            this.height += chunk.lines;
+            this.width = Math.max(this.width, chunk.width);
+            this.population += chunk.population;
+        }
+    }
+
+    /**
+     * Découpe le fichier en morceaux d'environ quatre par processeur, chacun
+     * commençant au début d'une ligne, et les projette en mémoire.
+     * @param channel Canal du fichier ouvert en lecture.
+     * @return Morceaux du fichier, dans l'ordre.
+     */
+    private List<GridFileChunk> split(FileChannel channel) throws IOException {
+        List<GridFileChunk> list = new ArrayList<GridFileChunk>();
+        long size = channel.size();
+        long target = size / (4 * Runtime.getRuntime().availableProcessors());
+        target = Math.min(MAX_CHUNK_BYTES, Math.max(MIN_CHUNK_BYTES, target));
+        long start = 0;
+        long end;
+
+        while (start < size) {
+            end = start + target;
+            if (end < size) {
+                end = nextLine(channel, end - 1);
+            } else {
+                end = size;
             }
-            // Après une fin de ligne, on met à jour les dimensions
-            if (lineWidth > this.width) {
-                this.width = lineWidth;
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line too long in " + this.fileName);
             }
-            lineWidth = 0;
-            this.height++;
-            
-            c = fr.read(); // Et on continue la lecture
+            list.add(new GridFileChunk(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+            start = end;
         }
-        
-        fr.close();
+        return list;
     }
-    
+
     /**
-     * Créée un ArrayList<Cell> en suivant les motifs du fichier.
-     * @return ArrayList<Cell>
+     * Cherche le début de la ligne suivant une position du fichier.
+     * @param channel Canal du fichier ouvert en lecture.
+     * @param position Position à partir de laquelle chercher un saut de ligne.
+     * @return Position suivant le premier saut de ligne trouvé, ou la taille
+     *         du fichier s'il n'y en a plus.
      */
-    public ArrayList<Cell> getGrid() throws IOException {
-        FileReader fr = new FileReader(fileName);
-        ArrayList<Cell> grid = new ArrayList<>();
-        
-        int posLine = 0;   // Position du curseur sur la ligne.
-        int c = fr.read(); // Première lecture
-        while (c != -1) {  // Tant qu'on atteint pas la fin du fichier
-            while (c != '\n' && c != -1) { // Boucle sur la ligne courante
-                grid.add(new Cell(c == '#')); // Ajout d'une cellule vivante si c == '#', morte sinon.
-                posLine++;
-                c = fr.read();
+    private static long nextLine(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        int read;
+
+        while ((read = channel.read(buffer, position)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
             }
-            // À la fin de la ligne du fichier, on rajoute des cases pour compléter la ligne de la grille.
-            for (;posLine < this.width ; posLine++) {
-                grid.add(new Cell());
+            position += read;
+            buffer.clear();
+        }
+        return channel.size();
+    }
+
+    /**
+     * Traite les morceaux, en parallèle s'il y en a plusieurs.
+     * @param chunks Morceaux à traiter.
+     */
+    private static void run(List<GridFileChunk> chunks) {
+        if (chunks.size() == 1) {
+            chunks.get(0).invoke();
+        } else if (chunks.size() > 1) {
+            ForkJoinPool pool = new ForkJoinPool();
+            try {
+                for (GridFileChunk chunk : chunks) {
+                    pool.execute(chunk);
+                }
+                for (GridFileChunk chunk : chunks) {
+                    chunk.join();
+                }
+            } finally {
+                pool.shutdown();
             }
-            posLine = 0;
-            
-            c = fr.read();
         }
-        
-        fr.close();
+    }
+    
+    /**
+     * Créée les lignes de la grille en suivant les motifs du fichier.
+     * Chaque ligne occupe Grid.wordsPerRow(width) mots de 64 bits, un bit
+     * par cellule.
+     * @return Lignes de la grille mises bout à bout.
+     */
+    @Override
+    public long[] getGrid() throws IOException {
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        if ((long) wordsPerRow * this.height > Integer.MAX_VALUE) {
+            throw new IOException("Grid too large in " + this.fileName);
+        }
+        long[] grid = new long[wordsPerRow * this.height];
+
+        // Les cases non écrites restent mortes.
+        for (GridFileChunk chunk : this.chunks) {
+            chunk.fill(grid, wordsPerRow, 0);
+        }
+        run(this.chunks);
         return grid;
     }
 
+    /**
+     * Transmet les lignes par groupes de morceaux consécutifs totalisant au
+     * plus SLICE_WORDS mots (au moins un morceau), chaque groupe étant
+     * écrit en parallèle dans une tranche allouée pour lui.
+     * @param sink Destinataire des tranches.
+     */
+    @Override
+    public void readRows(RowSink sink) throws IOException {
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        int first, end;
+        long lines;
+
+        for (int i = 0; i < this.chunks.size(); i = end) {
+            first = this.chunks.get(i).firstLine;
+            lines = this.chunks.get(i).lines;
+            for (end = i + 1; end < this.chunks.size(); end++) {
+                if ((lines + this.chunks.get(end).lines) * wordsPerRow > SLICE_WORDS) {
+                    break;
+                }
+                lines += this.chunks.get(end).lines;
+            }
+            if (lines * wordsPerRow > Integer.MAX_VALUE) {
+                throw new IOException("Grid too large in " + this.fileName);
+            }
+
+            long[] slice = new long[(int) lines * wordsPerRow];
+            List<GridFileChunk> group = this.chunks.subList(i, end);
+            for (GridFileChunk chunk : group) {
+                chunk.fill(slice, wordsPerRow, first);
+            }
+            run(group);
+            sink.putRows(first, (int) lines, slice, 0);
+        }
+    }
     /**
      * Détermine la largeur de la grille définie dans le fichier.
      * @return Nombre de cellules en largeur. C'est-à-dire la longueur de la
      *         plus longue ligne dans le fichier.
      */
+    @Override
     public int getWidth() {
         return this.width;
     }
@@ -121,6 +250,7 @@ public class GridFileReader {
      * @return Nombre de cellule en hauteur. C'est-à-dire le nombre de ligne
      *         Contenues dans le fichier.
      */
+    @Override
     public int getHeight() {
         return this.height;
     }
@@ -129,8 +259,18 @@ public class GridFileReader {
      * Donne la population présente dans le ficher
      * @return Nombre de cellules vivantes
      */
-    public int getPopulation() {
+    @Override
+    public long getPopulation() {
         return this.population;
     }
+
+    /**
+     * Le format texte ne conserve pas la génération.
+     * @return 0
+     */
+    @Override
+    public long getGeneration() {
+        return 0;
+    }
     
 }
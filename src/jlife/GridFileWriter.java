@@ -0,0 +1,63 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * GridFileWriter.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+/**
+ * Enregistrement d'une grille au format texte lu par GridFileReader : un
+ * caractère par cellule, '#' pour une cellule vivante et ' ' pour une
+ * cellule morte. Toutes les lignes ont la largeur de la grille.
+ * @author Faivre Pierre
+ */
+public class GridFileWriter {
+
+    /**
+     * Enregistre une fenêtre de l'univers d'un moteur.
+     * @param engine Moteur dont les cellules sont enregistrées.
+     * @param window Rectangle de cellules à enregistrer.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    public static void write(LifeEngine engine, BoundingBox window, String fileName) throws IOException {
+        long right = window.getX() + window.getWidth();
+        long bottom = window.getY() + window.getHeight();
+
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8"));
+        try {
+            for (long y = window.getY(); y < bottom; y++) {
+                for (long x = window.getX(); x < right; x++) {
+                    out.write(engine.isAlive(x, y) ? '#' : ' ');
+                }
+                out.write('\n');
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,633 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * HashLife.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Moteur HashLife : l'univers est un arbre quaternaire de nœuds canoniques
+ * (MacroCell) dont l'avenir est mémorisé. Un nœud de niveau k peut ainsi
+ * avancer de 2^(k-2) générations d'un coup, ce qui rend accessibles des
+ * milliards de générations pour des motifs réguliers comme le canon de Gosper.
+ *
+ * Contrairement à Grid, l'univers est un plan infini : les bords ne se
+ * rejoignent pas. La table des nœuds est bornée : quand elle dépasse sa
+ * taille maximale, y compris au milieu d'un pas de calcul, elle est vidée de
+ * tous les nœuds qui ne sont accessibles ni depuis la racine ni depuis les
+ * nœuds en cours de calcul.
+ * @see MacroCell
+ * @author Faivre Pierre
+ */
+public class HashLife implements LifeEngine {
+
+    /**
+     * Nombre de nœuds au-delà duquel la table est nettoyée par défaut.
+     */
+    public static final int DEFAULT_MAX_NODES = 1 << 21;
+
+    /**
+     * Niveau minimal de la racine.
+     */
+    private static final int MIN_LEVEL = 3;
+
+    /**
+     * Nombre maximal de nœuds retenus par un appel de successor : le nœud,
+     * les cinq carrés construits, les neuf successeurs ou centres, et trois
+     * quarts du résultat.
+     */
+    private static final int HELD_PER_LEVEL = 18;
+
+    /**
+     * Cellules morte et vivante, feuilles de l'arbre.
+     */
+    private final MacroCell dead = new MacroCell(false);
+    private final MacroCell alive = new MacroCell(true);
+
+    /**
+     * Table de hachage des nœuds canoniques, chaînée par MacroCell.next.
+     */
+    private MacroCell[] table;
+
+    /**
+     * Nombre de nœuds présents dans la table.
+     */
+    private int size;
+
+    /**
+     * Nombre de nœuds au-delà duquel la table est nettoyée.
+     */
+    private final int maxNodes;
+
+    /**
+     * Seuil du prochain nettoyage : maxNodes, ou plus si les nœuds encore
+     * accessibles en occupent déjà plus de la moitié.
+     */
+    private int limit;
+
+    /**
+     * Pile des nœuds en cours de calcul, conservés par collect().
+     */
+    private final MacroCell[] held = new MacroCell[64 * HELD_PER_LEVEL + 1];
+    private int heldCount;
+
+    /**
+     * Nœuds vides de chaque niveau.
+     */
+    private MacroCell[] empty = new MacroCell[64];
+
+    /**
+     * Racine de l'univers.
+     */
+    private MacroCell root;
+
+    /**
+     * Coordonnées de la cellule en haut à gauche de la racine.
+     */
+    private long originX;
+    private long originY;
+
+    /**
+     * Nombre d'itérations écoulées depuis l'initialisation de la grille.
+     */
+    private long generation;
+
+    /**
+     * Indique si la dernière génération a modifié au moins une cellule.
+     */
+    private boolean changed;
+
+    /**
+     * Créée un univers contenant les cellules de la grille, placées aux
+     * mêmes coordonnées.
+     * @param grid Grille de départ.
+     * @param maxNodes Nombre de nœuds au-delà duquel la table est nettoyée.
+     */
+    public HashLife(Grid grid, int maxNodes) {
+        this.maxNodes = maxNodes;
+        this.limit = maxNodes;
+        this.table = new MacroCell[1 << 16];
+        this.size = 0;
+        this.empty[0] = this.dead;
+
+        int level = MIN_LEVEL;
+        while ((1L << level) < Math.max(grid.getWidth(), grid.getHeight())) {
+            level++;
+        }
+        this.root = this.build(grid, 0, 0, level);
+        this.originX = 0;
+        this.originY = 0;
+        this.generation = grid.getGeneration();
+    }
+
+    @Override
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    @Override
+    public long getPopulation() {
+        return this.root.population;
+    }
+
+    /**
+     * @return Le nombre de nœuds présents dans la table.
+     */
+    public int getNodeCount() {
+        return this.size;
+    }
+
+    @Override
+    public boolean hasChanged() {
+        return this.changed;
+    }
+
+    /**
+     * Les nœuds étant calculés par blocs, les naissances ne sont pas comptées.
+     */
+    @Override
+    public long getBirths() {
+        return -1;
+    }
+
+    /**
+     * Les nœuds étant calculés par blocs, les morts ne sont pas comptées.
+     */
+    @Override
+    public long getDeaths() {
+        return -1;
+    }
+
+    @Override
+    public long getActiveCells() {
+        BoundingBox box = this.getBoundingBox();
+        return box.getWidth() * box.getHeight();
+    }
+
+    /**
+     * L'empreinte combine celle de la racine et sa position. La racine
+     * étant réduite au plus petit nœud centré sur le motif, un même état
+     * retrouve en pratique la même racine au même endroit.
+     */
+    @Override
+    public long getStateHash() {
+        long hash = CycleDetector.mix(this.root.fingerprint ^ this.originX);
+        return CycleDetector.mix(hash ^ this.originY);
+    }
+
+    @Override
+    public void skipGenerations(long generations) {
+        this.generation += generations;
+    }
+
+    @Override
+    public void countBlocks(BoundingBox window, int scale, long[] counts) {
+        this.countBlocks(this.root, this.originX, this.originY, window, scale, counts);
+    }
+
+    /**
+     * Compte les cellules d'un nœud par blocs. Un nœud contenu dans un seul
+     * bloc y ajoute sa population sans être parcouru : le nombre de nœuds
+     * visités dépend du nombre de blocs, pas du nombre de cellules.
+     * @param node Nœud à compter.
+     * @param x Abscisse du coin supérieur gauche du nœud.
+     * @param y Ordonnée du coin supérieur gauche du nœud.
+     * @param window Rectangle de cellules découpé en blocs.
+     * @param scale Côté d'un bloc en nombre de cellules.
+     * @param counts Nombres de cellules vivantes des blocs.
+     */
+    private void countBlocks(MacroCell node, long x, long y, BoundingBox window, int scale, long[] counts) {
+        long last = (1L << node.level) - 1; // Décalage de la dernière cellule du nœud
+        long left = x - window.getX();
+        long top = y - window.getY();
+
+        if (node.population == 0 || left + last < 0 || top + last < 0
+            || left >= window.getWidth() || top >= window.getHeight()) {
+            return;
+        }
+        if (left >= 0 && top >= 0 && left + last < window.getWidth() && top + last < window.getHeight()
+            && left / scale == (left + last) / scale && top / scale == (top + last) / scale) {
+            int columns = (int) ((window.getWidth() + scale - 1) / scale);
+            counts[(int) (top / scale) * columns + (int) (left / scale)] += node.population;
+            return;
+        }
+
+        long half = 1L << (node.level - 1);
+        this.countBlocks(node.nw, x, y, window, scale, counts);
+        this.countBlocks(node.ne, x + half, y, window, scale, counts);
+        this.countBlocks(node.sw, x, y + half, window, scale, counts);
+        this.countBlocks(node.se, x + half, y + half, window, scale, counts);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (this.root.population == 0) {
+            return new BoundingBox(0, 0, 0, 0);
+        }
+        long[] box = this.bounds(this.root, new IdentityHashMap<MacroCell, long[]>());
+        return new BoundingBox(this.originX + box[0], this.originY + box[1], box[2] - box[0] + 1, box[3] - box[1] + 1);
+    }
+
+    /**
+     * Calcule le rectangle englobant les cellules vivantes d'un nœud non
+     * vide, relativement à son coin supérieur gauche. Les nœuds étant
+     * partagés, le résultat de chacun n'est calculé qu'une fois.
+     * @param node Nœud non vide.
+     * @param known Rectangles déjà calculés.
+     * @return Abscisse et ordonnée minimales puis maximales.
+     */
+    private long[] bounds(MacroCell node, Map<MacroCell, long[]> known) {
+        long[] box = known.get(node);
+        if (box != null) {
+            return box;
+        }
+
+        if (node.level == 0) {
+            box = new long[] {0, 0, 0, 0};
+        } else {
+            long half = 1L << (node.level - 1);
+            MacroCell[] quarters = {node.nw, node.ne, node.sw, node.se};
+            box = new long[] {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+            for (int q = 0; q < 4; q++) {
+                if (quarters[q].population > 0) {
+                    long[] b = this.bounds(quarters[q], known);
+                    long dx = (q & 1) * half;
+                    long dy = (q >> 1) * half;
+                    box[0] = Math.min(box[0], b[0] + dx);
+                    box[1] = Math.min(box[1], b[1] + dy);
+                    box[2] = Math.max(box[2], b[2] + dx);
+                    box[3] = Math.max(box[3], b[3] + dy);
+                }
+            }
+        }
+        known.put(node, box);
+        return box;
+    }
+
+    @Override
+    public boolean isAlive(long x, long y) {
+        x -= this.originX;
+        y -= this.originY;
+        MacroCell node = this.root;
+        long half;
+
+        if (x < 0 || y < 0 || x >= (1L << node.level) || y >= (1L << node.level)) {
+            return false;
+        }
+        while (node.level > 0 && node.population > 0) {
+            half = 1L << (node.level - 1);
+            if (y < half) {
+                node = x < half ? node.nw : node.ne;
+            } else {
+                node = x < half ? node.sw : node.se;
+                y -= half;
+            }
+            if (x >= half) {
+                x -= half;
+            }
+        }
+        return node.population > 0;
+    }
+
+    /**
+     * Fait avancer l'univers du nombre de générations demandé.
+     * Le nombre est décomposé en puissances de 2, chacune étant calculée en
+     * un seul pas sur la racine. Seul un univers vide est détecté comme
+     * inerte : le calcul ne s'arrête pas plus tôt pour une figure stable.
+     * @param generations Nombre de générations à calculer.
+     * @return Booléen valant false si l'univers est vide ou n'a pas changé.
+     */
+    @Override
+    public boolean nextGenerations(long generations) {
+        int step;
+        MacroCell previous = this.root;
+        long previousX = this.originX;
+        long previousY = this.originY;
+
+        // La racine de départ doit rester canonique pour être comparée à
+        // la nouvelle, même si la table est nettoyée entre-temps.
+        this.hold(previous);
+        while (generations > 0 && this.root.population > 0) {
+            step = 63 - Long.numberOfLeadingZeros(generations);
+            this.advance(step);
+            generations -= 1L << step;
+            this.generation += 1L << step;
+        }
+        this.heldCount = 0;
+        // Un univers vide reste vide, on avance directement le compteur.
+        this.generation += generations;
+
+        // La racine est réduite au plus petit nœud centré sur le motif : une
+        // figure stable retrouve donc la même racine au même endroit.
+        this.changed = this.root != previous || this.originX != previousX || this.originY != previousY;
+        return this.root.population > 0 && this.changed;
+    }
+
+    /**
+     * Fait avancer la racine de 2^step générations.
+     */
+    private void advance(int step) {
+        // La racine est agrandie jusqu'à ce que le motif tienne dans sa moitié
+        // centrale et qu'elle soit assez grande pour ce pas, puis une fois de
+        // plus pour que le motif ne puisse pas sortir du résultat.
+        while (this.root.level < step + 2 || this.center(this.root).population != this.root.population) {
+            this.expand();
+        }
+        this.expand();
+
+        int level = this.root.level;
+        this.root = this.successor(this.root, step);
+        this.originX += 1L << (level - 2);
+        this.originY += 1L << (level - 2);
+
+        // Puis réduite tant que le motif tient dans sa moitié centrale.
+        while (this.root.level > MIN_LEVEL && this.center(this.root).population == this.root.population) {
+            level = this.root.level;
+            this.root = this.center(this.root);
+            this.originX += 1L << (level - 2);
+            this.originY += 1L << (level - 2);
+        }
+    }
+
+    /**
+     * Double la taille de la racine en l'entourant de cellules mortes.
+     */
+    private void expand() {
+        MacroCell r = this.root;
+        MacroCell e = this.empty(r.level - 1);
+        this.root = this.join(this.join(e, e, e, r.nw), this.join(e, e, r.ne, e),
+                              this.join(e, r.sw, e, e), this.join(r.se, e, e, e));
+        this.originX -= 1L << (r.level - 1);
+        this.originY -= 1L << (r.level - 1);
+    }
+
+    /**
+     * Calcule le centre d'un nœud de niveau k après 2^step générations,
+     * avec step <= k-2.
+     * @param node Nœud de niveau 2 ou plus.
+     * @param step Nombre de générations en puissance de 2.
+     * @return Nœud de niveau k-1 au centre de node.
+     */
+    private MacroCell successor(MacroCell node, int step) {
+        if (node.population == 0) {
+            return this.empty(node.level - 1);
+        }
+        if (node.result != null && node.resultStep == step) {
+            return node.result;
+        }
+
+        // Tous les nœuds intermédiaires sont retenus : un nettoyage pendant
+        // un appel récursif ne doit pas leur faire perdre leur unicité.
+        int base = this.heldCount;
+        this.hold(node);
+        if (this.size > this.limit) {
+            this.collect();
+        }
+
+        MacroCell result;
+        if (node.level == 2) {
+            result = this.successor2(node);
+        } else {
+            // Neuf carrés de niveau k-1 se chevauchant, couvrant le nœud
+            MacroCell n00 = node.nw;
+            MacroCell n01 = this.hold(this.join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw));
+            MacroCell n02 = node.ne;
+            MacroCell n10 = this.hold(this.join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne));
+            MacroCell n11 = this.hold(this.center(node));
+            MacroCell n12 = this.hold(this.join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne));
+            MacroCell n20 = node.sw;
+            MacroCell n21 = this.hold(this.join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw));
+            MacroCell n22 = node.se;
+            int next;
+
+            if (step == node.level - 2) {
+                // Pleine vitesse : deux pas de 2^(k-3) générations.
+                next = step - 1;
+                n00 = this.hold(this.successor(n00, next));
+                n01 = this.hold(this.successor(n01, next));
+                n02 = this.hold(this.successor(n02, next));
+                n10 = this.hold(this.successor(n10, next));
+                n11 = this.hold(this.successor(n11, next));
+                n12 = this.hold(this.successor(n12, next));
+                n20 = this.hold(this.successor(n20, next));
+                n21 = this.hold(this.successor(n21, next));
+                n22 = this.hold(this.successor(n22, next));
+            } else {
+                // Pas plus petit : les neuf carrés sont seulement recentrés,
+                // le calcul est fait en une fois sur les quatre quarts.
+                next = step;
+                n00 = this.hold(this.center(n00));
+                n01 = this.hold(this.center(n01));
+                n02 = this.hold(this.center(n02));
+                n10 = this.hold(this.center(n10));
+                n11 = this.hold(this.center(n11));
+                n12 = this.hold(this.center(n12));
+                n20 = this.hold(this.center(n20));
+                n21 = this.hold(this.center(n21));
+                n22 = this.hold(this.center(n22));
+            }
+            MacroCell nw = this.hold(this.successor(this.join(n00, n01, n10, n11), next));
+            MacroCell ne = this.hold(this.successor(this.join(n01, n02, n11, n12), next));
+            MacroCell sw = this.hold(this.successor(this.join(n10, n11, n20, n21), next));
+            MacroCell se = this.successor(this.join(n11, n12, n21, n22), next);
+            result = this.join(nw, ne, sw, se);
+        }
+        this.heldCount = base;
+
+        node.result = result;
+        node.resultStep = step;
+        return result;
+    }
+
+    /**
+     * Empile un nœud pour qu'il survive au prochain nettoyage.
+     * @return Le nœud lui-même.
+     */
+    private MacroCell hold(MacroCell node) {
+        this.held[this.heldCount++] = node;
+        return node;
+    }
+
+    /**
+     * Calcule la génération suivante du carré de 2x2 cellules au centre d'un
+     * nœud de niveau 2 (4x4 cellules).
+     */
+    private MacroCell successor2(MacroCell node) {
+        // Les 16 cellules dans un entier, bit (4y + x)
+        int bits = 0;
+        MacroCell[] quarters = {node.nw, node.ne, node.sw, node.se};
+        for (int q = 0; q < 4; q++) {
+            int dx = (q & 1) * 2;
+            int dy = (q >> 1) * 2;
+            MacroCell c = quarters[q];
+            bits |= (int) c.nw.population << (4 * dy + dx);
+            bits |= (int) c.ne.population << (4 * dy + dx + 1);
+            bits |= (int) c.sw.population << (4 * (dy + 1) + dx);
+            bits |= (int) c.se.population << (4 * (dy + 1) + dx + 1);
+        }
+        return this.join(this.rule(bits, 1, 1), this.rule(bits, 2, 1),
+                         this.rule(bits, 1, 2), this.rule(bits, 2, 2));
+    }
+
+    /**
+     * Applique la règle du jeu de la vie à la cellule (x;y) d'un carré de 4x4.
+     */
+    private MacroCell rule(int bits, int x, int y) {
+        int livingNeighbors = 0;
+        for (int j = y - 1; j <= y + 1; j++) {
+            for (int i = x - 1; i <= x + 1; i++) {
+                if ((i != x || j != y) && (bits & (1 << (4 * j + i))) != 0) {
+                    livingNeighbors++;
+                }
+            }
+        }
+        boolean state = (bits & (1 << (4 * y + x))) != 0;
+        return livingNeighbors == 3 || (livingNeighbors == 2 && state) ? this.alive : this.dead;
+    }
+
+    /**
+     * @return Le carré de niveau k-1 au centre d'un nœud de niveau k.
+     */
+    private MacroCell center(MacroCell node) {
+        return this.join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    /**
+     * @return Le nœud vide du niveau demandé.
+     */
+    private MacroCell empty(int level) {
+        if (this.empty[level] == null) {
+            MacroCell e = this.empty(level - 1);
+            this.empty[level] = this.join(e, e, e, e);
+        }
+        return this.empty[level];
+    }
+
+    /**
+     * Construit le nœud couvrant le carré de la grille dont le coin supérieur
+     * gauche est (x;y).
+     */
+    private MacroCell build(Grid grid, int x, int y, int level) {
+        if (x >= grid.getWidth() || y >= grid.getHeight()) {
+            return this.empty(level);
+        }
+        if (level == 0) {
+            return grid.isAlive(x, y) ? this.alive : this.dead;
+        }
+        int half = 1 << (level - 1);
+        return this.join(this.build(grid, x, y, level - 1), this.build(grid, x + half, y, level - 1),
+                         this.build(grid, x, y + half, level - 1), this.build(grid, x + half, y + half, level - 1));
+    }
+
+    /**
+     * Retourne le nœud canonique ayant les quatre quarts donnés, en le
+     * créant s'il n'existe pas encore.
+     */
+    MacroCell join(MacroCell nw, MacroCell ne, MacroCell sw, MacroCell se) {
+        int index = MacroCell.hash(nw, ne, sw, se) & (this.table.length - 1);
+        for (MacroCell c = this.table[index]; c != null; c = c.next) {
+            if (c.nw == nw && c.ne == ne && c.sw == sw && c.se == se) {
+                return c;
+            }
+        }
+
+        MacroCell c = new MacroCell(nw, ne, sw, se);
+        c.next = this.table[index];
+        this.table[index] = c;
+        this.size++;
+        if (this.size > this.table.length) {
+            this.resize(this.table.length * 2);
+        }
+        return c;
+    }
+
+    /**
+     * Change la taille de la table de hachage.
+     */
+    private void resize(int length) {
+        MacroCell[] old = this.table;
+        MacroCell next;
+        int index;
+
+        this.table = new MacroCell[length];
+        for (MacroCell bucket : old) {
+            for (MacroCell c = bucket; c != null; c = next) {
+                next = c.next;
+                index = c.hash & (length - 1);
+                c.next = this.table[index];
+                this.table[index] = c;
+            }
+        }
+    }
+
+    /**
+     * Vide la table des nœuds qui ne sont plus accessibles depuis la racine
+     * ou depuis la pile des nœuds en cours de calcul.
+     * Les résultats mémorisés sont oubliés, ils seront recalculés au besoin.
+     * Le seuil suivant laisse au moins maxNodes / 2 nœuds de cache au-delà
+     * des nœuds conservés, pour ne pas nettoyer à chaque appel ; il revient
+     * à maxNodes dès que ces derniers sont moins nombreux.
+     */
+    private void collect() {
+        this.table = new MacroCell[this.table.length];
+        this.size = 0;
+        this.empty = new MacroCell[this.empty.length];
+        this.empty[0] = this.dead;
+        this.keep(this.root);
+        for (int i = 0; i < this.heldCount; i++) {
+            this.keep(this.held[i]);
+        }
+
+        this.limit = Math.max(this.maxNodes, this.size + this.maxNodes / 2);
+    }
+
+    /**
+     * Remet dans la table un nœud et tous ses descendants.
+     */
+    private void keep(MacroCell node) {
+        if (node.level == 0) {
+            return;
+        }
+        int index = node.hash & (this.table.length - 1);
+        for (MacroCell c = this.table[index]; c != null; c = c.next) {
+            if (c == node) {
+                return;
+            }
+        }
+        this.keep(node.nw);
+        this.keep(node.ne);
+        this.keep(node.sw);
+        this.keep(node.se);
+
+        node.result = null;
+        node.next = this.table[index];
+        this.table[index] = node;
+        this.size++;
+        if (node.population == 0) {
+            this.empty[node.level] = node;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * LatencyHistogram.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Histogramme de durées à précision relative constante, pour calculer des
+ * percentiles sans garder toutes les mesures. Les valeurs inférieures à
+ * 2^SUB_BITS sont exactes ; au-delà, chaque puissance de deux est découpée
+ * en 2^SUB_BITS intervalles égaux, soit une erreur d'au plus 1/32 (environ
+ * 3 %). L'ajout d'une valeur ne fait aucune allocation.
+ * @see StatsRecorder
+ * @author Faivre Pierre
+ */
+public class LatencyHistogram {
+
+    /**
+     * Nombre de bits significatifs conservés pour chaque valeur.
+     */
+    private static final int SUB_BITS = 5;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /**
+     * Nombre de valeurs dans chaque intervalle.
+     */
+    private final long[] counts = new long[(64 - SUB_BITS + 1) * SUB_COUNT];
+
+    /**
+     * Nombre total de valeurs.
+     */
+    private long total;
+
+    /**
+     * Plus grande valeur ajoutée, exacte.
+     */
+    private long max;
+
+    /**
+     * Ajoute une valeur.
+     * @param value Durée, négative ramenée à 0.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        this.counts[index(value)]++;
+        this.total++;
+        this.max = Math.max(this.max, value);
+    }
+
+    /**
+     * @return Le nombre de valeurs ajoutées.
+     */
+    public long getCount() {
+        return this.total;
+    }
+
+    /**
+     * @return La plus grande valeur ajoutée, 0 s'il n'y en a pas.
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Calcule un percentile.
+     * @param percent Pourcentage de valeurs inférieures ou égales au
+     *                résultat, de 0 à 100.
+     * @return La borne supérieure de l'intervalle contenant le percentile,
+     *         sans dépasser la plus grande valeur, 0 s'il n'y a pas de valeur.
+     */
+    public long getPercentile(double percent) {
+        long rank = (long) Math.ceil(this.total * percent / 100);
+        long seen = 0;
+
+        if (this.total == 0) {
+            return 0;
+        }
+        rank = Math.max(1, Math.min(rank, this.total));
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * @return L'indice de l'intervalle contenant la valeur.
+     */
+    private static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);        // Au moins SUB_BITS
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * @return La plus grande valeur de l'intervalle d'indice donné.
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        long sub = index % SUB_COUNT;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
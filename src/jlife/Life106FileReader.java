@@ -0,0 +1,155 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Life106FileReader.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+
+/**
+ * Lecture d'un motif au format Life 1.06 : après l'en-tête "#Life 1.06",
+ * chaque ligne donne les coordonnées "x y" d'une cellule vivante. Les
+ * coordonnées pouvant être négatives, le motif est décalé pour que sa
+ * cellule la plus en haut à gauche se trouve en (0;0).
+ *
+ * Les lignes sont lues une à une et seules les coordonnées sont gardées
+ * en mémoire jusqu'à la création de la grille.
+ * @see Life106FileWriter
+ * @author Faivre Pierre
+ */
+public class Life106FileReader implements PatternReader {
+
+    private int width;
+    private int height;
+    private long population;
+    private long[] grid;
+
+    /**
+     * @param fileName Chemin du fichier à charger.
+     */
+    public Life106FileReader(String fileName) throws IOException {
+        int[] xs = new int[256];
+        int[] ys = new int[256];
+        int count = 0;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        String line;
+        String[] fields;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"));
+        try {
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() == 0 || line.charAt(0) == '#') {
+                    continue;
+                }
+                fields = line.split("\\s+");
+                if (count == xs.length) {
+                    xs = Arrays.copyOf(xs, count * 2);
+                    ys = Arrays.copyOf(ys, count * 2);
+                }
+                try {
+                    if (fields.length != 2) {
+                        throw new NumberFormatException();
+                    }
+                    xs[count] = Integer.parseInt(fields[0]);
+                    ys[count] = Integer.parseInt(fields[1]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid coordinates '" + line + "' in " + fileName);
+                }
+                minX = Math.min(minX, xs[count]);
+                minY = Math.min(minY, ys[count]);
+                maxX = Math.max(maxX, xs[count]);
+                maxY = Math.max(maxY, ys[count]);
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+
+        if (count == 0) {
+            this.grid = new long[0];
+            return;
+        }
+        if ((long) maxX - minX >= Integer.MAX_VALUE || (long) maxY - minY >= Integer.MAX_VALUE
+                || (long) Grid.wordsPerRow(maxX - minX + 1) * (maxY - minY + 1) > Integer.MAX_VALUE) {
+            throw new IOException("Pattern too large in " + fileName);
+        }
+        this.width = maxX - minX + 1;
+        this.height = maxY - minY + 1;
+
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        int x, index;
+        long bit;
+        this.grid = new long[wordsPerRow * this.height];
+        for (int i = 0; i < count; i++) {
+            x = xs[i] - minX;
+            index = (ys[i] - minY) * wordsPerRow + (x >>> 6);
+            bit = 1L << x;
+            // Une cellule listée deux fois ne compte qu'une fois.
+            if ((this.grid[index] & bit) == 0) {
+                this.grid[index] |= bit;
+                this.population++;
+            }
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public long getPopulation() {
+        return this.population;
+    }
+
+    @Override
+    public long getGeneration() {
+        return 0;
+    }
+
+    @Override
+    public long[] getGrid() {
+        return this.grid;
+    }
+
+    /**
+     * La grille est déjà créée par le constructeur, elle est transmise
+     * d'un bloc.
+     */
+    @Override
+    public void readRows(RowSink sink) {
+        sink.putRows(0, this.height, this.grid, 0);
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Life106FileWriter.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+/**
+ * Enregistrement d'un motif au format Life 1.06 : l'en-tête "#Life 1.06"
+ * suivi des coordonnées "x y" de chaque cellule vivante.
+ * @see Life106FileReader
+ * @author Faivre Pierre
+ */
+public class Life106FileWriter {
+
+    /**
+     * Enregistre les cellules vivantes d'une fenêtre de l'univers d'un
+     * moteur, avec leurs coordonnées dans l'univers.
+     * @param engine Moteur dont les cellules sont enregistrées.
+     * @param window Rectangle de cellules à enregistrer.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    public static void write(LifeEngine engine, BoundingBox window, String fileName) throws IOException {
+        long right = window.getX() + window.getWidth();
+        long bottom = window.getY() + window.getHeight();
+
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8"));
+        try {
+            out.write("#Life 1.06\n");
+            for (long y = window.getY(); y < bottom; y++) {
+                for (long x = window.getX(); x < right; x++) {
+                    if (engine.isAlive(x, y)) {
+                        out.write(Long.toString(x));
+                        out.write(' ');
+                        out.write(Long.toString(y));
+                        out.write('\n');
+                    }
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
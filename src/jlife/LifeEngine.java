@@ -0,0 +1,122 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * LifeEngine.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Moteur de calcul du jeu de la vie.
+ * Chaque implémentation choisit sa représentation des cellules et son
+ * algorithme ; le jeu ne manipule les moteurs qu'à travers cette interface.
+ * @see EngineType
+ * @author Faivre Pierre
+ */
+public interface LifeEngine {
+
+    /**
+     * Calcule les générations suivantes, en s'arrêtant plus tôt si le jeu
+     * devient inerte.
+     * @param generations Nombre maximal de générations à calculer.
+     * @return Booléen valant false si le jeu est inerte
+     */
+    boolean nextGenerations(long generations);
+
+    /**
+     * @return La génération actuelle.
+     */
+    long getGeneration();
+
+    /**
+     * @return Le nombre de cellules vivantes.
+     */
+    long getPopulation();
+
+    /**
+     * Indique l'état de la cellule qui se trouve aux coordonnées (x;y).
+     * @param x Abscisse de la cellule.
+     * @param y Ordonnée de la cellule.
+     * @return true si la cellule est vivante, false si elle est morte ou
+     *         hors de l'univers.
+     */
+    boolean isAlive(long x, long y);
+
+    /**
+     * @return true si la dernière génération calculée a modifié au moins une
+     *         cellule.
+     */
+    boolean hasChanged();
+
+    /**
+     * @return Le nombre de naissances lors de la dernière génération
+     *         calculée, -1 si le moteur ne les compte pas.
+     */
+    long getBirths();
+
+    /**
+     * @return Le nombre de morts lors de la dernière génération calculée,
+     *         -1 si le moteur ne les compte pas.
+     */
+    long getDeaths();
+
+    /**
+     * @return Le nombre de cellules examinées lors de la dernière génération
+     *         calculée, ou à défaut la surface du rectangle englobant.
+     */
+    long getActiveCells();
+
+    /**
+     * @return Le plus petit rectangle contenant les cellules vivantes, ou
+     *         toute la grille pour un univers borné.
+     */
+    BoundingBox getBoundingBox();
+
+    /**
+     * Empreinte de 64 bits de l'état des cellules, tenue à jour au fil des
+     * générations. Deux empreintes égales désignent le même état, à une
+     * collision près dont la probabilité est négligeable.
+     * @return L'empreinte de la génération courante.
+     * @see CycleDetector
+     */
+    long getStateHash();
+
+    /**
+     * Compte les cellules vivantes de chaque bloc carré d'une fenêtre, pour
+     * un affichage réduit. Les cellules hors de l'univers sont mortes.
+     * @param window Rectangle de cellules, découpé en blocs à partir de son
+     *               coin supérieur gauche.
+     * @param scale Côté d'un bloc en nombre de cellules.
+     * @param counts Tableau de ceil(largeur / scale) * ceil(hauteur / scale)
+     *               cases, ligne de blocs par ligne de blocs, auquel est
+     *               ajouté le nombre de cellules vivantes de chaque bloc.
+     */
+    void countBlocks(BoundingBox window, int scale, long[] counts);
+
+    /**
+     * Avance le compteur de générations sans calculer les cellules. Ne doit
+     * être utilisé que lorsque l'état est connu pour se répéter, en sautant
+     * un nombre entier de périodes.
+     * @param generations Nombre de générations sautées.
+     */
+    void skipGenerations(long generations);
+}
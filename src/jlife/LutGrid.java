@@ -0,0 +1,182 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * LutGrid.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Grille calculant la génération suivante par blocs de 2x2 cellules.
+ * L'état suivant d'un bloc ne dépend que du carré de 4x4 cellules qui
+ * l'entoure : il est lu dans une table précalculée de 65536 entrées, indexée
+ * par les 16 bits de ce carré. Aucun comptage de voisins n'est donc fait
+ * pendant le calcul, et aucun objet n'est créé.
+ * Les bords se rejoignent comme pour Grid, et les grilles de largeur ou de
+ * hauteur impaire sont gérées en ignorant la moitié du dernier bloc.
+ * @see Grid
+ * @author Faivre Pierre
+ */
+public class LutGrid extends Grid {
+
+    /**
+     * État suivant de chaque bloc de 2x2 cellules en fonction des 4x4
+     * cellules qui l'entourent. Le bit (4y + x) de l'indice correspond à la
+     * cellule (x;y) du carré, le bit (2y + x) de la valeur à la cellule
+     * (x+1;y+1) du carré, c'est-à-dire à la cellule (x;y) du bloc.
+     */
+    private static final byte[] TABLE = buildTable();
+
+    /**
+     * Créée une grille calculée par blocs à partir d'une grille existante.
+     * @param grid Grille à copier.
+     */
+    public LutGrid(Grid grid) {
+        super(grid);
+    }
+
+    /**
+     * Calcule la génération suivante des lignes d'une bande, deux lignes à
+     * la fois. Toutes les tuiles sont recalculées.
+     * @param band Bande à calculer, commençant sur une ligne paire.
+     */
+    @Override
+    void stepBand(GridBand band) {
+        long[] rows = this.getRows();
+        long[] nextRows = this.getNextRows();
+        int words = this.getWordsPerRow();
+        int width = this.getWidth();
+        int height = this.getHeight();
+        long births = 0;
+        long deaths = 0;
+        int above, top, bottom, below; // Indices des quatre lignes entourant le bloc
+        long next0, next1;             // Mots en cours de calcul sur les deux lignes du bloc
+        long current0, current1;
+        long mask;
+        int block, x;
+
+        for (int y = band.getFrom(); y < band.getTo(); y += 2) {
+            above = (y > 0 ? y - 1 : height - 1) * words;
+            top = y * words;
+            bottom = (y + 1 < height ? y + 1 : 0) * words;
+            below = ((y + 2) % height) * words;
+
+            for (int w = 0; w < words; w++) {
+                next0 = 0;
+                next1 = 0;
+                // Chaque mot contient 32 blocs de 2 cellules de large.
+                for (int i = 0; i < 64; i += 2) {
+                    x = (w << 6) + i;
+                    if (x >= width) {
+                        break;
+                    }
+                    block = TABLE[nibble(rows, above, x, width)
+                                  | nibble(rows, top, x, width) << 4
+                                  | nibble(rows, bottom, x, width) << 8
+                                  | nibble(rows, below, x, width) << 12];
+                    next0 |= (long) (block & 3) << i;
+                    next1 |= (long) ((block >>> 2) & 3) << i;
+                }
+
+                // Les cellules au-delà de la largeur de la grille restent mortes.
+                mask = w == words - 1 ? -1L >>> (63 - ((width - 1) & 63)) : -1L;
+                next0 &= mask;
+                next1 &= mask;
+
+                current0 = rows[top + w];
+                nextRows[top + w] = next0;
+                births += Long.bitCount(next0 & ~current0);
+                deaths += Long.bitCount(current0 & ~next0);
+                // Si la hauteur est impaire, la deuxième ligne du dernier bloc n'existe pas.
+                if (y + 1 < band.getTo()) {
+                    current1 = rows[top + words + w];
+                    nextRows[top + words + w] = next1;
+                    births += Long.bitCount(next1 & ~current1);
+                    deaths += Long.bitCount(current1 & ~next1);
+                }
+            }
+        }
+
+        band.births = births;
+        band.deaths = deaths;
+        band.hash = this.hashChanges(band.getFrom(), band.getTo(), 0, words);
+        band.activeTiles = (band.getTo() - band.getFrom() + TILE_ROWS - 1) / TILE_ROWS * words;
+    }
+
+    /**
+     * Lit les quatre cellules d'abscisses x-1 à x+2 d'une ligne.
+     * @param rows Lignes de la grille.
+     * @param row Indice du premier mot de la ligne.
+     * @param x Abscisse de la première cellule du bloc.
+     * @param width Largeur de la grille.
+     * @return Les quatre cellules, celle d'abscisse x-1 dans le bit 0.
+     */
+    private static int nibble(long[] rows, int row, int x, int width) {
+        int col = x - 1;
+        if (col >= 0 && col + 3 < width) {
+            int shift = col & 63;
+            long bits = rows[row + (col >>> 6)] >>> shift;
+            if (shift > 60) {
+                // Le carré est à cheval sur deux mots.
+                bits |= rows[row + (col >>> 6) + 1] << (64 - shift);
+            }
+            return (int) bits & 0xF;
+        }
+
+        // Bords de la grille : on lit chaque cellule en faisant le tour du tore.
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            col = (x - 1 + i + width) % width;
+            bits |= (int) (rows[row + (col >>> 6)] >>> col & 1) << i;
+        }
+        return bits;
+    }
+
+    /**
+     * Calcule la table des états suivants des blocs de 2x2 cellules.
+     */
+    private static byte[] buildTable() {
+        byte[] table = new byte[1 << 16];
+        int livingNeighbors;
+        boolean alive;
+
+        for (int square = 0; square < table.length; square++) {
+            for (int y = 1; y <= 2; y++) {
+                for (int x = 1; x <= 2; x++) {
+                    livingNeighbors = 0;
+                    for (int j = y - 1; j <= y + 1; j++) {
+                        for (int i = x - 1; i <= x + 1; i++) {
+                            if ((i != x || j != y) && (square & (1 << (4 * j + i))) != 0) {
+                                livingNeighbors++;
+                            }
+                        }
+                    }
+                    alive = (square & (1 << (4 * y + x))) != 0;
+                    if (livingNeighbors == 3 || (livingNeighbors == 2 && alive)) {
+                        table[square] |= 1 << (2 * (y - 1) + (x - 1));
+                    }
+                }
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * MacroCell.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Nœud de l'arbre quaternaire utilisé par HashLife.
+ * Un nœud de niveau k représente un carré de 2^k cellules de côté, découpé
+ * en quatre nœuds de niveau k-1. Les nœuds de niveau 0 sont les cellules
+ * elles-mêmes. Les nœuds sont canoniques : deux carrés identiques sont
+ * représentés par le même objet, ce qui permet de mémoriser leur avenir.
+ * @see HashLife
+ * @author Faivre Pierre
+ */
+class MacroCell {
+
+    /**
+     * Quarts nord-ouest, nord-est, sud-ouest et sud-est du carré, null pour
+     * une cellule.
+     */
+    final MacroCell nw, ne, sw, se;
+
+    /**
+     * Niveau du nœud : le carré fait 2^level cellules de côté.
+     */
+    final int level;
+
+    /**
+     * Nombre de cellules vivantes dans le carré.
+     */
+    final long population;
+
+    /**
+     * Empreinte calculée à partir de celles des quarts.
+     */
+    final int hash;
+
+    /**
+     * Empreinte de 64 bits du contenu, tirée de celles des quatre quarts.
+     */
+    final long fingerprint;
+
+    /**
+     * Nœud suivant dans la même case de la table de hachage.
+     */
+    MacroCell next;
+
+    /**
+     * Centre du carré (niveau level-1) après 2^resultStep générations,
+     * null s'il n'a pas encore été calculé.
+     */
+    MacroCell result;
+
+    /**
+     * Nombre de générations (en puissance de 2) correspondant à result.
+     */
+    int resultStep;
+
+    /**
+     * Créée une cellule.
+     * @param alive État de la cellule.
+     */
+    MacroCell(boolean alive) {
+        this.nw = null;
+        this.ne = null;
+        this.sw = null;
+        this.se = null;
+        this.level = 0;
+        this.population = alive ? 1 : 0;
+        this.hash = alive ? 1 : 0;
+        this.fingerprint = alive ? 1 : 0;
+    }
+
+    /**
+     * Créée un nœud à partir de ses quatre quarts, de même niveau.
+     */
+    MacroCell(MacroCell nw, MacroCell ne, MacroCell sw, MacroCell se) {
+        this.nw = nw;
+        this.ne = ne;
+        this.sw = sw;
+        this.se = se;
+        this.level = nw.level + 1;
+        this.population = nw.population + ne.population + sw.population + se.population;
+        this.hash = hash(nw, ne, sw, se);
+        this.fingerprint = CycleDetector.mix(((nw.fingerprint * 31 + ne.fingerprint) * 31 + sw.fingerprint) * 31
+                                             + se.fingerprint + this.level);
+    }
+
+    /**
+     * Calcule l'empreinte d'un nœud à partir de ses quarts.
+     */
+    static int hash(MacroCell nw, MacroCell ne, MacroCell sw, MacroCell se) {
+        int h = nw.hash;
+        h = h * 31 + ne.hash;
+        h = h * 31 + sw.hash;
+        h = h * 31 + se.hash;
+        h = h * 31 + nw.level;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,405 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * MappedGrid.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+/**
+ * Grille torique stockée hors du tas Java, dans un fichier temporaire
+ * projeté en mémoire, pour les grilles plus grandes que le tas.
+ * Les lignes ont la même disposition que dans Grid (un bit par cellule,
+ * un nombre entier de mots de 64 bits par ligne) et sont réparties sur deux
+ * régions du fichier : la génération courante et la génération suivante,
+ * échangées à chaque itération. Le système charge et décharge les pages à
+ * la demande, seule une petite tranche de lignes est copiée dans le tas
+ * pendant le calcul, voir stepBand.
+ *
+ * Une région est projetée par segments d'au plus SEGMENT_BYTES octets
+ * contenant un nombre entier de lignes, une projection étant limitée à 2 Go.
+ * L'empreinte est calculée comme celle de Grid, à une constante près pour
+ * une grille créée vide ou chargée depuis un fichier.
+ * @author Faivre Pierre
+ */
+public class MappedGrid extends BandedGrid {
+
+    /**
+     * Taille maximale d'un segment projeté, en octets.
+     */
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    /**
+     * Taille visée d'une tranche de lignes copiée dans le tas, en octets.
+     */
+    private static final int SLICE_BYTES = 4 << 20;
+
+    /**
+     * Segments de la génération courante, vus comme des mots de 64 bits.
+     */
+    private LongBuffer[] rows;
+
+    /**
+     * Segments recevant la génération suivante, échangés avec rows à chaque itération.
+     */
+    private LongBuffer[] nextRows;
+
+    /**
+     * Nombre de lignes d'un segment.
+     */
+    private int rowsPerSegment;
+
+    /**
+     * Nombre de mots de 64 bits occupés par une ligne.
+     */
+    private int wordsPerRow;
+
+    /**
+     * Largeur de la grille en nombre de cellules
+     */
+    private int width;
+
+    /**
+     * Hauteur de la grille en nombre de cellules
+     */
+    private int height;
+
+    /**
+     * Créée une grille vide de la taille spécifiée. Le fichier temporaire
+     * est créé dans le dossier java.io.tmpdir, puis supprimé dès qu'il est
+     * projeté : l'espace disque est libéré à la fin du programme.
+     * @param width Nombre de cellules en largeur.
+     * @param height Nombre de cellules en hauteur.
+     * @throws IOException Si le fichier ne peut pas être créé ou projeté.
+     */
+    public MappedGrid(int width, int height) throws IOException {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = Grid.wordsPerRow(width);
+        this.rowsPerSegment = (int) Math.max(1, Math.min(height, SEGMENT_BYTES / (8L * this.wordsPerRow)));
+
+        long regionBytes = 8L * this.wordsPerRow * height;
+        File file = File.createTempFile("jlife-", ".grid");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            // Fichier creux : les pages jamais écrites ne sont pas allouées sur le disque.
+            raf.setLength(2 * regionBytes);
+            this.rows = map(raf.getChannel(), 0, regionBytes);
+            this.nextRows = map(raf.getChannel(), regionBytes, regionBytes);
+        } finally {
+            raf.close();
+            if (!file.delete()) {
+                file.deleteOnExit(); // Fichier projeté non supprimable sous Windows
+            }
+        }
+    }
+
+    /**
+     * Créée une grille à partir d'un fichier déjà ouvert. Les lignes sont
+     * écrites dans le fichier projeté au fil de la lecture, par tranches,
+     * sans créer la grille entière dans le tas.
+     * @param reader Lecteur du fichier.
+     * @throws IOException Si le fichier ne peut pas être lu, ou le fichier
+     *                     temporaire créé ou projeté.
+     */
+    MappedGrid(PatternReader reader) throws IOException {
+        this(reader.getWidth(), reader.getHeight());
+        this.generation = reader.getGeneration();
+        this.population = reader.getPopulation();
+        reader.readRows(new RowSink() {
+            @Override
+            public void putRows(int y, int count, long[] rows, int offset) {
+                MappedGrid.this.putRows(y, count, rows, offset);
+            }
+        });
+    }
+
+    /**
+     * Créée une copie de la grille, à la même génération.
+     * @param grid Grille à copier.
+     * @throws IOException Si le fichier ne peut pas être créé ou projeté.
+     */
+    public MappedGrid(Grid grid) throws IOException {
+        this(grid.getWidth(), grid.getHeight());
+        this.generation = grid.getGeneration();
+        this.population = grid.getPopulation();
+        this.changed = grid.hasChanged();
+        this.stateHash = grid.getStateHash();
+        this.writeRows(this.rows, 0, this.height, grid.getRows(), 0);
+    }
+
+    /**
+     * Créée une grille aléatoire de la taille spécifiée, différente à chaque
+     * appel, sans passer par une grille du tas.
+     * @param width Nombre de cellules en largeur.
+     * @param height Nombre de cellules en hauteur.
+     * @param density Densité des cellules vivantes (unité arbitraire de 1 à 10).
+     * @throws IOException Si le fichier ne peut pas être créé ou projeté.
+     */
+    public MappedGrid(int width, int height, int density) throws IOException {
+        this(width, height, density, new Random().nextLong(), 1);
+    }
+
+    /**
+     * Créée une grille aléatoire reproductible, identique à la grille Grid de
+     * même graine. Elle est remplie par tranches de lignes, chacune
+     * remplie par bandes en parallèle dans le tas puis copiée dans le fichier.
+     * @param width Nombre de cellules en largeur.
+     * @param height Nombre de cellules en hauteur.
+     * @param density Densité des cellules vivantes (unité arbitraire de 1 à 10).
+     * @param seed Graine du générateur aléatoire.
+     * @param threads Nombre de fils d'exécution, qui servent ensuite au
+     *                calcul des générations (voir setThreads).
+     * @throws IOException Si le fichier ne peut pas être créé ou projeté.
+     * @see RandomFill
+     */
+    public MappedGrid(int width, int height, int density, long seed, int threads) throws IOException {
+        this(width, height);
+        RandomFill fill = new RandomFill(width, density, seed);
+        int sliceRows = Math.max(1, Math.min(height, SLICE_BYTES / (8 * this.wordsPerRow)));
+        long[] slice = new long[sliceRows * this.wordsPerRow];
+        RandomFillBand band;
+        int count;
+
+        this.setThreads(threads);
+        for (int y = 0; y < height; y += count) {
+            count = Math.min(sliceRows, height - y);
+            band = new RandomFillBand(fill, slice, y, this.wordsPerRow, y, y + count,
+                                      Math.max(MIN_BAND_ROWS, count / (4 * this.getThreads())));
+            if (this.getPool() == null) {
+                band.compute();
+            } else {
+                this.getPool().invoke(band);
+            }
+            this.population += band.population;
+            this.stateHash ^= band.hash;
+            this.writeRows(this.rows, y, count, slice, 0);
+        }
+    }
+
+    /**
+     * Projette une région du fichier par segments d'un nombre entier de lignes.
+     * @param channel Canal du fichier.
+     * @param position Position de la région dans le fichier.
+     * @param size Taille de la région en octets.
+     * @return Les segments de la région.
+     */
+    private LongBuffer[] map(FileChannel channel, long position, long size) throws IOException {
+        long segmentBytes = 8L * this.wordsPerRow * this.rowsPerSegment;
+        int count = (int) ((size + segmentBytes - 1) / segmentBytes);
+        LongBuffer[] segments = new LongBuffer[count];
+
+        for (int s = 0; s < count; s++) {
+            long offset = s * segmentBytes;
+            segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, position + offset, Math.min(segmentBytes, size - offset))
+                                 .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+        return segments;
+    }
+
+    /**
+     * Écrit une tranche de lignes lue dans un fichier dans la génération
+     * courante, encore vide. Comme pour une cellule modifiée dans Grid,
+     * chaque mot non vide remplace dans l'empreinte celle du mot vide.
+     */
+    private void putRows(int y, int count, long[] src, int offset) {
+        long index = (long) y * this.wordsPerRow;
+        for (int i = 0; i < count * this.wordsPerRow; i++) {
+            if (src[offset + i] != 0) {
+                this.stateHash ^= Grid.hashWord(index + i, 0) ^ Grid.hashWord(index + i, src[offset + i]);
+            }
+        }
+        this.writeRows(this.rows, y, count, src, offset);
+    }
+
+    @Override
+    public void copyRows(int y, int count, long[] dst, int offset) {
+        this.readRows(this.rows, y, count, dst, offset);
+    }
+
+    /**
+     * Copie des lignes consécutives d'une région dans un tableau.
+     * @param region Segments de la région lue.
+     * @param y Première ligne.
+     * @param count Nombre de lignes.
+     * @param dst Tableau recevant les lignes.
+     * @param offset Indice du premier mot écrit dans dst.
+     */
+    private void readRows(LongBuffer[] region, int y, int count, long[] dst, int offset) {
+        LongBuffer view;
+        int n;
+
+        while (count > 0) {
+            n = Math.min(count, this.rowsPerSegment - y % this.rowsPerSegment);
+            // Vue propre à l'appel : plusieurs fils lisent le même segment.
+            view = region[y / this.rowsPerSegment].duplicate();
+            view.position((y % this.rowsPerSegment) * this.wordsPerRow);
+            view.get(dst, offset, n * this.wordsPerRow);
+            y += n;
+            count -= n;
+            offset += n * this.wordsPerRow;
+        }
+    }
+
+    /**
+     * Copie des lignes consécutives d'un tableau dans une région.
+     * @param region Segments de la région écrite.
+     * @param y Première ligne.
+     * @param count Nombre de lignes.
+     * @param src Tableau contenant les lignes.
+     * @param offset Indice du premier mot lu dans src.
+     */
+    private void writeRows(LongBuffer[] region, int y, int count, long[] src, int offset) {
+        LongBuffer view;
+        int n;
+
+        while (count > 0) {
+            n = Math.min(count, this.rowsPerSegment - y % this.rowsPerSegment);
+            view = region[y / this.rowsPerSegment].duplicate();
+            view.position((y % this.rowsPerSegment) * this.wordsPerRow);
+            view.put(src, offset, n * this.wordsPerRow);
+            y += n;
+            count -= n;
+            offset += n * this.wordsPerRow;
+        }
+    }
+
+    /**
+     * @return La largeur de la grille.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return La hauteur de la grille.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public boolean isAlive(long x, long y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return false;
+        }
+        int row = (int) y;
+        long word = this.rows[row / this.rowsPerSegment].get((row % this.rowsPerSegment) * this.wordsPerRow + (int) (x >>> 6));
+        return (word & (1L << x)) != 0;
+    }
+
+    /**
+     * Toutes les cellules sont recalculées à chaque génération.
+     */
+    @Override
+    public long getActiveCells() {
+        return (long) this.width * this.height;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return new BoundingBox(0, 0, this.width, this.height);
+    }
+
+    @Override
+    public void countBlocks(BoundingBox window, int scale, long[] counts) {
+        long from = Math.max(window.getY(), 0);
+        long to = Math.min(window.getY() + window.getHeight(), this.height);
+        long[] row = new long[this.wordsPerRow];
+
+        for (long y = from; y < to; y++) {
+            this.readRows(this.rows, (int) y, 1, row, 0);
+            Grid.countRow(row, 0, y, this.width, window, scale, counts);
+        }
+    }
+
+    /**
+     * Échange les régions de la génération courante et de la suivante.
+     */
+    @Override
+    void swap(GridBand band) {
+        LongBuffer[] tmp = this.rows;
+        this.rows = this.nextRows;
+        this.nextRows = tmp;
+    }
+
+    /**
+     * Calcule la génération suivante des lignes d'une bande, tranche par
+     * tranche : les lignes d'une tranche et ses deux lignes voisines sont
+     * copiées dans le tas, calculées par Grid.stepRow puis recopiées dans la
+     * région de la génération suivante. La lecture de la région courante est
+     * ainsi séquentielle, ce qui permet au système de lire les pages à
+     * l'avance. Contrairement à Grid, toutes les lignes sont recalculées et
+     * réécrites : la région suivante contient la génération précédente.
+     * @param band Bande à calculer, qui reçoit ses nombres de naissances et
+     *             de morts et sa variation d'empreinte.
+     */
+    @Override
+    void stepBand(GridBand band) {
+        int words = this.wordsPerRow;
+        int slice = Math.max(1, Math.min(band.getTo() - band.getFrom(), SLICE_BYTES / (8 * words)));
+        long[] src = new long[(slice + 2) * words]; // Tranche précédée et suivie de ses lignes voisines
+        long[] dst = new long[slice * words];
+        long[] changes = new long[words];           // Non utilisé : toutes les lignes sont calculées
+        long births = 0;
+        long deaths = 0;
+        long hash = 0;
+        long result;
+        int n;
+
+        for (int y0 = band.getFrom(); y0 < band.getTo(); y0 += n) {
+            n = Math.min(slice, band.getTo() - y0);
+
+            // Le haut et le bas de la grille se rejoignent.
+            this.readRows(this.rows, y0 > 0 ? y0 - 1 : this.height - 1, 1, src, 0);
+            this.readRows(this.rows, y0, n, src, words);
+            this.readRows(this.rows, y0 + n < this.height ? y0 + n : 0, 1, src, (n + 1) * words);
+
+            for (int k = 0; k < n; k++) {
+                result = Grid.stepRow(src, k * words, (k + 1) * words, (k + 2) * words, dst, k * words,
+                                      0, words, words, this.width, changes);
+                births += result & 0xFFFFFFFFL;
+                deaths += result >>> 32;
+            }
+
+            for (int i = 0; i < n * words; i++) {
+                if (src[words + i] != dst[i]) {
+                    hash ^= Grid.hashWord((long) y0 * words + i, src[words + i]) ^ Grid.hashWord((long) y0 * words + i, dst[i]);
+                }
+            }
+
+            this.writeRows(this.nextRows, y0, n, dst, 0);
+        }
+
+        band.births = births;
+        band.deaths = deaths;
+        band.hash = hash;
+    }
+}
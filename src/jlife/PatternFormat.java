@@ -0,0 +1,179 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * PatternFormat.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+
+/**
+ * Formats de fichier de motif reconnus.
+ * @author Faivre Pierre
+ */
+public enum PatternFormat {
+    /**
+     * Texte brut : un caractère par cellule, '#' pour une cellule vivante
+     * (GridFileReader).
+     */
+    PLAIN,
+
+    /**
+     * Codage par plages (Run Length Encoded), extension .rle.
+     */
+    RLE,
+
+    /**
+     * Liste des coordonnées des cellules vivantes, extensions .lif et .life.
+     */
+    LIFE_106,
+
+    /**
+     * Instantané binaire d'une grille, extension .snap (SnapshotFormat).
+     */
+    SNAPSHOT;
+
+    /**
+     * Nombre maximal de lignes lues pour reconnaître un en-tête.
+     */
+    private static final int HEADER_LINES = 64;
+
+    /**
+     * Déduit le format de l'extension d'un nom de fichier.
+     * @param fileName Nom du fichier.
+     * @return Le format correspondant, ou null si l'extension est inconnue.
+     */
+    public static PatternFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".rle")) {
+            return RLE;
+        } else if (name.endsWith(".lif") || name.endsWith(".life")) {
+            return LIFE_106;
+        } else if (name.endsWith(".snap")) {
+            return SNAPSHOT;
+        } else if (name.endsWith(".txt") || name.endsWith(".cells")) {
+            return PLAIN;
+        }
+        return null;
+    }
+
+    /**
+     * Détermine le format d'un fichier existant, d'après son contenu ou à
+     * défaut d'après son extension : l'en-tête binaire d'un instantané,
+     * "#Life 1.06" pour Life 1.06, une ligne "x = ..." après d'éventuels
+     * commentaires pour RLE. Les autres fichiers sans extension connue sont
+     * lus comme du texte brut.
+     * @param fileName Chemin du fichier.
+     * @return Le format du fichier.
+     * @throws IOException Si le fichier est au format Life 1.05, non géré.
+     */
+    public static PatternFormat detect(String fileName) throws IOException {
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        DataInputStream in = new DataInputStream(new FileInputStream(fileName));
+        try {
+            in.readFully(magic);
+            if (SnapshotFileReader.isSnapshot(ByteBuffer.wrap(magic))) {
+                return SNAPSHOT;
+            }
+        } catch (EOFException e) {
+            // Fichier trop court pour être un instantané
+        } finally {
+            in.close();
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"));
+        try {
+            String line = reader.readLine();
+            if (line != null && line.startsWith("#Life 1.06")) {
+                return LIFE_106;
+            }
+            if (line != null && line.startsWith("#Life 1.05")) {
+                throw new IOException("Life 1.05 files are not supported, convert " + fileName
+                                      + " to Life 1.06 or RLE");
+            }
+            for (int i = 0; i < HEADER_LINES && line != null; i++) {
+                line = line.trim();
+                if (RleFileReader.isHeader(line)) {
+                    return RLE;
+                }
+                // Seuls des commentaires RLE ("#C", "#N"...) peuvent précéder l'en-tête.
+                if (line.length() < 2 || line.charAt(0) != '#' || !Character.isLetter(line.charAt(1))) {
+                    break;
+                }
+                line = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+
+        PatternFormat format = fromFileName(fileName);
+        return format != null ? format : PLAIN;
+    }
+
+    /**
+     * Ouvre un fichier de ce format.
+     * @param fileName Chemin du fichier.
+     * @return Lecteur du fichier.
+     */
+    public PatternReader newReader(String fileName) throws IOException {
+        switch (this) {
+            case RLE:
+                return new RleFileReader(fileName);
+            case LIFE_106:
+                return new Life106FileReader(fileName);
+            case SNAPSHOT:
+                return new SnapshotFileReader(fileName);
+            default:
+                return new GridFileReader(fileName);
+        }
+    }
+
+    /**
+     * Enregistre une fenêtre de l'univers d'un moteur dans ce format.
+     * @param engine Moteur dont les cellules sont enregistrées.
+     * @param window Rectangle de cellules à enregistrer.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    public void write(LifeEngine engine, BoundingBox window, String fileName) throws IOException {
+        switch (this) {
+            case RLE:
+                RleFileWriter.write(engine, window, fileName);
+                break;
+            case LIFE_106:
+                Life106FileWriter.write(engine, window, fileName);
+                break;
+            case SNAPSHOT:
+                SnapshotFileWriter.write(engine, window, fileName);
+                break;
+            default:
+                GridFileWriter.write(engine, window, fileName);
+                break;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * PatternReader.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.IOException;
+
+/**
+ * Lecteur d'un fichier de motif, quel que soit son format.
+ * @see PatternFormat
+ * @author Faivre Pierre
+ */
+public interface PatternReader {
+
+    /**
+     * @return Nombre de cellules en largeur.
+     */
+    int getWidth();
+
+    /**
+     * @return Nombre de cellules en hauteur.
+     */
+    int getHeight();
+
+    /**
+     * @return Nombre de cellules vivantes.
+     */
+    long getPopulation();
+
+    /**
+     * @return Génération à laquelle le motif a été enregistré, 0 pour les
+     *         formats qui ne la conservent pas.
+     */
+    long getGeneration();
+
+    /**
+     * Créée les lignes de la grille en suivant le motif du fichier.
+     * Chaque ligne occupe Grid.wordsPerRow(width) mots de 64 bits, un bit
+     * par cellule.
+     * @return Lignes de la grille mises bout à bout.
+     */
+    long[] getGrid() throws IOException;
+
+    /**
+     * Transmet les lignes de la grille dans l'ordre, par tranches de lignes
+     * consécutives, sans forcément créer la grille entière dans le tas. Les
+     * lignes qui ne sont pas transmises sont vides.
+     * @param sink Destinataire des tranches.
+     */
+    void readRows(RowSink sink) throws IOException;
+}
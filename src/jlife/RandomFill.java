@@ -0,0 +1,138 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * RandomFill.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Remplissage aléatoire et reproductible des lignes d'une grille.
+ * Chaque ligne a son propre générateur SplitMix64, dont l'état initial est
+ * le tirage de même rang d'un générateur SplitMix64 initialisé par la
+ * graine : les lignes peuvent être remplies dans n'importe quel ordre et
+ * par n'importe quel nombre de fils, la même graine donne toujours la même
+ * grille.
+ * Une cellule est vivante avec une probabilité de 1 / (11 - densité),
+ * arrondie à 2^-16 près. Les 64 cellules d'un mot sont tirées ensemble :
+ * en parcourant les chiffres binaires de la probabilité du dernier au
+ * premier, chaque tirage de 64 bits est combiné au mot par un OU pour un
+ * chiffre à 1 et par un ET pour un chiffre à 0, ce qui donne à chaque bit
+ * exactement cette probabilité. Il faut ainsi un tirage par mot pour une
+ * densité de 10 sur 2 et au plus 16 pour les autres, au lieu d'un tirage
+ * par cellule.
+ * @see RandomFillBand
+ * @author Faivre Pierre
+ */
+public class RandomFill {
+
+    /**
+     * Incrément du générateur SplitMix64 (partie fractionnaire du nombre d'or).
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Nombre de chiffres binaires de la probabilité d'une cellule vivante.
+     */
+    private static final int PRECISION = 16;
+
+    private final int width;
+    private final long seed;
+
+    /**
+     * Probabilité d'une cellule vivante en 2^-16.
+     */
+    private final int probability;
+
+    /**
+     * Masque des cellules du dernier mot d'une ligne.
+     */
+    private final long lastWordMask;
+
+    /**
+     * @param width Nombre de cellules en largeur des lignes.
+     * @param density Densité des cellules vivantes (unité arbitraire de 1 à 10).
+     * @param seed Graine du générateur.
+     */
+    public RandomFill(int width, int density, long seed) {
+        // Vérification sur le paramètre de densité
+        if (density < 1)
+            density = 1;
+        else if (density > 10)
+            density = 10;
+
+        this.width = width;
+        this.seed = seed;
+        // 1 chance sur "11 - density" que la cellule soit vivante.
+        this.probability = ((1 << PRECISION) + (11 - density) / 2) / (11 - density);
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << width) - 1;
+    }
+
+    /**
+     * Remplit une ligne. Les mots sont écrasés.
+     * @param y Numéro de la ligne, qui choisit son générateur.
+     * @param dst Tableau recevant les mots de la ligne.
+     * @param offset Position du premier mot dans le tableau.
+     * @return Le nombre de cellules vivantes de la ligne.
+     */
+    public long fillRow(int y, long[] dst, int offset) {
+        int words = Grid.wordsPerRow(this.width);
+        long state = mix(this.seed + (y + 1L) * GOLDEN_GAMMA);
+        long population = 0;
+        long word;
+        int lowest = Integer.numberOfTrailingZeros(this.probability);
+
+        for (int i = 0; i < words; i++) {
+            if (this.probability == 1 << PRECISION) {
+                word = -1L;
+            } else {
+                word = 0;
+                for (int digit = lowest; digit < PRECISION; digit++) {
+                    state += GOLDEN_GAMMA;
+                    if ((this.probability & (1 << digit)) != 0) {
+                        word |= mix(state);
+                    } else {
+                        word &= mix(state);
+                    }
+                }
+            }
+            if (i == words - 1) {
+                word &= this.lastWordMask;
+            }
+            dst[offset + i] = word;
+            population += Long.bitCount(word);
+        }
+        return population;
+    }
+
+    /**
+     * Fonction de sortie de SplitMix64 (variante 13 de Stafford du
+     * finaliseur de MurmurHash3).
+     * @param z État du générateur.
+     * @return Valeur pseudo-aléatoire.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
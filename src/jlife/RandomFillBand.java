@@ -0,0 +1,122 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * RandomFillBand.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bande horizontale d'une grille aléatoire remplie par un fil d'exécution
+ * du pool. Une bande trop haute est coupée en deux jusqu'à atteindre la
+ * taille demandée ; chaque ligne ayant son propre générateur, le résultat
+ * ne dépend pas du découpage.
+ * @see RandomFill
+ * @author Faivre Pierre
+ */
+class RandomFillBand extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RandomFill fill;
+
+    /**
+     * Lignes de la grille, bout à bout, à partir de la ligne base.
+     */
+    private final long[] rows;
+
+    /**
+     * Ligne rangée au début de rows.
+     */
+    private final int base;
+
+    private final int wordsPerRow;
+
+    /**
+     * Première ligne de la bande.
+     */
+    private final int from;
+
+    /**
+     * Ligne suivant la dernière ligne de la bande.
+     */
+    private final int to;
+
+    /**
+     * Nombre maximal de lignes d'une bande avant découpage.
+     */
+    private final int grain;
+
+    /**
+     * Nombre de cellules vivantes de la bande.
+     */
+    long population;
+
+    /**
+     * Empreinte des mots de la bande (voir Grid.hashWord).
+     */
+    long hash;
+
+    /**
+     * @param fill Générateur des lignes.
+     * @param rows Lignes de la grille, bout à bout.
+     * @param base Ligne rangée au début de rows.
+     * @param wordsPerRow Nombre de mots par ligne.
+     * @param from Première ligne de la bande.
+     * @param to Ligne suivant la dernière ligne de la bande.
+     * @param grain Nombre maximal de lignes d'une bande avant découpage.
+     */
+    RandomFillBand(RandomFill fill, long[] rows, int base, int wordsPerRow, int from, int to, int grain) {
+        this.fill = fill;
+        this.rows = rows;
+        this.base = base;
+        this.wordsPerRow = wordsPerRow;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.grain) {
+            int offset;
+            for (int y = this.from; y < this.to; y++) {
+                offset = (y - this.base) * this.wordsPerRow;
+                this.population += this.fill.fillRow(y, this.rows, offset);
+                for (int i = 0; i < this.wordsPerRow; i++) {
+                    this.hash ^= Grid.hashWord((long) y * this.wordsPerRow + i, this.rows[offset + i]);
+                }
+            }
+        } else {
+            int middle = (this.from + this.to) >>> 1;
+            RandomFillBand top = new RandomFillBand(this.fill, this.rows, this.base, this.wordsPerRow,
+                                                    this.from, middle, this.grain);
+            RandomFillBand bottom = new RandomFillBand(this.fill, this.rows, this.base, this.wordsPerRow,
+                                                       middle, this.to, this.grain);
+            invokeAll(top, bottom);
+            this.population = top.population + bottom.population;
+            this.hash = top.hash ^ bottom.hash;
+        }
+    }
+}
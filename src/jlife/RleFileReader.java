@@ -0,0 +1,215 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * RleFileReader.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Lecture d'un motif au format RLE (Run Length Encoded).
+ * Après d'éventuelles lignes de commentaire commençant par '#', l'en-tête
+ * "x = largeur, y = hauteur, rule = B3/S23" donne la taille du motif. Les
+ * lignes suivent, chaque plage étant notée par un nombre facultatif suivi
+ * de 'b' (cellules mortes), 'o' (cellules vivantes) ou '$' (fin de ligne) ;
+ * '!' termine le motif.
+ *
+ * Le fichier est décodé au fil de la lecture, directement dans la grille
+ * allouée d'après l'en-tête : il n'est jamais chargé en entier en mémoire.
+ * @see RleFileWriter
+ * @author Faivre Pierre
+ */
+public class RleFileReader implements PatternReader {
+
+    private int width;
+    private int height;
+    private long population;
+    private long[] grid;
+    private String fileName;
+
+    /**
+     * @param fileName Chemin du fichier à charger.
+     */
+    public RleFileReader(String fileName) throws IOException {
+        this.fileName = fileName;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"));
+        try {
+            String line = reader.readLine();
+            while (line != null && (line.trim().length() == 0 || line.trim().charAt(0) == '#')) {
+                line = reader.readLine();
+            }
+            if (line == null || !isHeader(line.trim())) {
+                throw new IOException("Missing RLE header in " + fileName);
+            }
+            this.readHeader(line.trim());
+            this.grid = new long[Grid.wordsPerRow(this.width) * this.height];
+            this.readCells(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Indique si une ligne est un en-tête RLE.
+     * @param line Ligne sans espaces en début et en fin.
+     * @return true si la ligne commence par "x =".
+     */
+    static boolean isHeader(String line) {
+        return line.startsWith("x") && line.substring(1).trim().startsWith("=");
+    }
+
+    /**
+     * Lit la taille du motif dans l'en-tête, et vérifie sa règle.
+     * @param line En-tête.
+     */
+    private void readHeader(String line) throws IOException {
+        this.width = -1;
+        this.height = -1;
+        for (String field : line.split(",")) {
+            int equals = field.indexOf('=');
+            if (equals < 0) {
+                throw new IOException("Invalid RLE header in " + this.fileName);
+            }
+            String key = field.substring(0, equals).trim();
+            String value = field.substring(equals + 1).trim();
+            try {
+                if (key.equals("x")) {
+                    this.width = Integer.parseInt(value);
+                } else if (key.equals("y")) {
+                    this.height = Integer.parseInt(value);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid RLE header in " + this.fileName);
+            }
+            if (key.equals("rule") && !value.equalsIgnoreCase("B3/S23") && !value.equals("23/3")) {
+                throw new IOException("Unsupported rule " + value + " in " + this.fileName);
+            }
+        }
+        if (this.width < 0 || this.height < 0
+                || (long) Grid.wordsPerRow(this.width) * this.height > Integer.MAX_VALUE) {
+            throw new IOException("Invalid RLE header in " + this.fileName);
+        }
+    }
+
+    /**
+     * Décode les plages de cellules jusqu'au '!' final.
+     * @param reader Lecteur placé après l'en-tête.
+     */
+    private void readCells(BufferedReader reader) throws IOException {
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        long count = 0; // Longueur de la plage en cours de lecture, 0 pour 1
+        long run;
+        long x = 0;
+        long y = 0;
+        int c;
+
+        while ((c = reader.read()) != -1 && c != '!') {
+            if (c >= '0' && c <= '9') {
+                count = count * 10 + (c - '0');
+                if (count > Integer.MAX_VALUE) {
+                    throw new IOException("Invalid run length in " + this.fileName);
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+
+            run = count == 0 ? 1 : count;
+            count = 0;
+            if (c == '$') {
+                y += run;
+                x = 0;
+            } else if (c == 'b' || c == '.') {
+                x += run;
+            } else if (Character.isLetter(c)) {
+                // 'o', ou n'importe quel état vivant du format étendu
+                if (x + run > this.width || y >= this.height) {
+                    throw new IOException("Pattern larger than its header in " + this.fileName);
+                }
+                setRun(this.grid, (int) y * wordsPerRow, (int) x, (int) run);
+                this.population += run;
+                x += run;
+            } else {
+                throw new IOException("Unexpected character '" + (char) c + "' in " + this.fileName);
+            }
+        }
+    }
+
+    /**
+     * Rend vivantes des cellules consécutives d'une ligne, un mot à la fois.
+     * @param grid Lignes de la grille mises bout à bout.
+     * @param row Indice du premier mot de la ligne.
+     * @param from Abscisse de la première cellule.
+     * @param count Nombre de cellules.
+     */
+    private static void setRun(long[] grid, int row, int from, int count) {
+        int to = from + count;   // Abscisse suivant la dernière cellule
+        int x = from;
+        int bits;
+
+        while (x < to) {
+            bits = Math.min(64 - (x & 63), to - x);
+            grid[row + (x >>> 6)] |= (bits == 64 ? -1L : (1L << bits) - 1) << x;
+            x += bits;
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public long getPopulation() {
+        return this.population;
+    }
+
+    @Override
+    public long getGeneration() {
+        return 0;
+    }
+
+    @Override
+    public long[] getGrid() {
+        return this.grid;
+    }
+
+    /**
+     * La grille est déjà créée par le constructeur, elle est transmise
+     * d'un bloc.
+     */
+    @Override
+    public void readRows(RowSink sink) {
+        sink.putRows(0, this.height, this.grid, 0);
+    }
+}
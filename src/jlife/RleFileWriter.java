@@ -0,0 +1,122 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * RleFileWriter.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+/**
+ * Enregistrement d'un motif au format RLE. Les cellules mortes en fin de
+ * ligne et les lignes vides en fin de motif ne sont pas écrites, et les
+ * lignes du fichier ne dépassent pas 70 caractères.
+ * @see RleFileReader
+ * @author Faivre Pierre
+ */
+public class RleFileWriter {
+
+    /**
+     * Longueur maximale d'une ligne du fichier.
+     */
+    private static final int LINE_LENGTH = 70;
+
+    private BufferedWriter out;
+
+    /**
+     * Nombre de caractères déjà écrits sur la ligne courante du fichier.
+     */
+    private int column;
+
+    private RleFileWriter(BufferedWriter out) {
+        this.out = out;
+        this.column = 0;
+    }
+
+    /**
+     * Enregistre une fenêtre de l'univers d'un moteur.
+     * @param engine Moteur dont les cellules sont enregistrées.
+     * @param window Rectangle de cellules à enregistrer.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    public static void write(LifeEngine engine, BoundingBox window, String fileName) throws IOException {
+        long left = window.getX();
+        long right = left + window.getWidth();
+        long bottom = window.getY() + window.getHeight();
+        long rows = 0;      // Fins de ligne pas encore écrites
+        long rowEnd;        // Fin de la dernière plage vivante écrite sur la ligne
+        long start, x;
+        boolean alive;
+
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8"));
+        try {
+            out.write("x = " + window.getWidth() + ", y = " + window.getHeight() + ", rule = B3/S23\n");
+            RleFileWriter rle = new RleFileWriter(out);
+
+            for (long y = window.getY(); y < bottom; y++) {
+                rowEnd = left;
+                x = left;
+                while (x < right) {
+                    alive = engine.isAlive(x, y);
+                    start = x;
+                    while (x < right && engine.isAlive(x, y) == alive) {
+                        x++;
+                    }
+                    if (alive) {
+                        rle.run(rows, '$');
+                        rle.run(start - rowEnd, 'b');
+                        rle.run(x - start, 'o');
+                        rows = 0;
+                        rowEnd = x;
+                    }
+                }
+                rows++;
+            }
+            rle.run(1, '!');
+            out.write('\n');
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Écrit une plage, en passant à la ligne si nécessaire.
+     * @param count Longueur de la plage, rien n'est écrit si elle est nulle.
+     * @param tag Type de la plage : 'b', 'o', '$' ou '!'.
+     */
+    private void run(long count, char tag) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        String token = count > 1 ? count + String.valueOf(tag) : String.valueOf(tag);
+        if (this.column + token.length() > LINE_LENGTH) {
+            this.out.write('\n');
+            this.column = 0;
+        }
+        this.out.write(token);
+        this.column += token.length();
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * RowSink.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Destinataire des lignes d'une grille transmises par tranches de lignes
+ * consécutives, voir PatternReader.readRows.
+ * @author Faivre Pierre
+ */
+public interface RowSink {
+
+    /**
+     * Reçoit une tranche de lignes. Chaque ligne occupe
+     * Grid.wordsPerRow(width) mots de 64 bits, un bit par cellule.
+     * @param y Indice de la première ligne de la tranche.
+     * @param count Nombre de lignes.
+     * @param rows Tableau contenant les lignes mises bout à bout.
+     * @param offset Indice du premier mot de la tranche dans rows. Le
+     *               tableau peut être réutilisé par l'appelant ensuite.
+     */
+    void putRows(int y, int count, long[] rows, int offset);
+}
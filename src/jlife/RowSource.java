@@ -0,0 +1,55 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * RowSource.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Source des lignes d'une grille lues par tranches de lignes consécutives,
+ * pour les enregistrer ou les afficher sans les copier toutes dans le tas,
+ * voir SnapshotFileWriter et FrameWriter.
+ * @author Faivre Pierre
+ */
+interface RowSource {
+
+    /**
+     * @return La largeur de la grille.
+     */
+    int getWidth();
+
+    /**
+     * @return La hauteur de la grille.
+     */
+    int getHeight();
+
+    /**
+     * Copie des lignes consécutives dans un tableau. Chaque ligne occupe
+     * Grid.wordsPerRow(width) mots de 64 bits, un bit par cellule.
+     * @param y Indice de la première ligne.
+     * @param count Nombre de lignes.
+     * @param dst Tableau recevant les lignes.
+     * @param offset Indice du premier mot écrit dans dst.
+     */
+    void copyRows(int y, int count, long[] dst, int offset);
+}
@@ -0,0 +1,303 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SlicedBoards.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.Arrays;
+
+/**
+ * Jusqu'à 64 grilles toriques indépendantes de même taille, calculées
+ * ensemble par découpage en tranches de bits : le mot d'une cellule
+ * contient son état dans chaque grille, le bit k appartenant à la grille k.
+ * Les voisins sont additionnés par des additionneurs sur des mots
+ * entiers, si bien qu'un seul passage sur les cellules fait avancer toutes
+ * les grilles d'une génération. Bien plus rapide que 64 Grid pour de petites
+ * grilles, dont le calcul coûte surtout en frais fixes.
+ * Le masque des grilles ayant changé et celui des grilles revenues à leur
+ * état d'il y a deux générations permettent de suivre la stabilisation de
+ * chacune, sans empreintes.
+ * @see SoupSearch
+ * @author Faivre Pierre
+ */
+public class SlicedBoards {
+
+    /**
+     * Nombre maximal de grilles calculées ensemble.
+     */
+    public static final int BOARDS = 64;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * Masque des grilles utilisées.
+     */
+    private final long boards;
+
+    /**
+     * Génération courante, ligne par ligne : cells[y * width + x].
+     */
+    private long[] cells;
+
+    /**
+     * Génération précédente.
+     */
+    private long[] previous;
+
+    /**
+     * Tampon de la génération suivante.
+     */
+    private long[] next;
+
+    /**
+     * Sommes horizontales de trois cellules de la génération courante,
+     * bit des unités et bit des deux.
+     */
+    private final long[] sums0;
+    private final long[] sums1;
+
+    /**
+     * Lignes ayant changé lors de la dernière génération dans une grille
+     * suivie, et tampon de la génération suivante.
+     */
+    private boolean[] changedRows;
+    private boolean[] nextChangedRows;
+
+    /**
+     * Lignes recalculées lors de la génération en cours.
+     */
+    private final boolean[] activeRows;
+
+    private long generation;
+
+    /**
+     * Nombre de générations calculées depuis la création.
+     */
+    private long steps;
+
+    /**
+     * Masque des grilles ayant changé lors de la dernière génération.
+     */
+    private long changed;
+
+    /**
+     * Masque des grilles dont la dernière génération est identique à celle
+     * d'il y a deux générations.
+     */
+    private long repeated;
+
+    /**
+     * Rassemble des grilles de même taille, qui ne sont pas modifiées.
+     * @param grids Entre 1 et 64 grilles, qui deviennent les grilles 0 à
+     *              grids.length - 1.
+     */
+    public SlicedBoards(Grid[] grids) {
+        if (grids.length < 1 || grids.length > BOARDS) {
+            throw new IllegalArgumentException("Between 1 and " + BOARDS + " grids can be sliced together");
+        }
+        this.width = grids[0].getWidth();
+        this.height = grids[0].getHeight();
+        this.boards = grids.length == BOARDS ? -1L : (1L << grids.length) - 1;
+        this.cells = new long[this.width * this.height];
+        this.previous = new long[this.cells.length];
+        this.next = new long[this.cells.length];
+        this.sums0 = new long[this.cells.length];
+        this.sums1 = new long[this.cells.length];
+        this.changedRows = new boolean[this.height];
+        this.nextChangedRows = new boolean[this.height];
+        this.activeRows = new boolean[this.height];
+        Arrays.fill(this.changedRows, true);
+        this.generation = grids[0].getGeneration();
+        this.changed = this.boards;
+
+        long[] rows;
+        long word;
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        for (int k = 0; k < grids.length; k++) {
+            if (grids[k].getWidth() != this.width || grids[k].getHeight() != this.height) {
+                throw new IllegalArgumentException("Sliced grids must have the same size");
+            }
+            // Seules les cellules vivantes de chaque mot de la grille sont parcourues.
+            rows = grids[k].getRows();
+            for (int y = 0; y < this.height; y++) {
+                for (int i = 0; i < wordsPerRow; i++) {
+                    word = rows[y * wordsPerRow + i];
+                    while (word != 0) {
+                        this.cells[y * this.width + (i << 6) + Long.numberOfTrailingZeros(word)] |= 1L << k;
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fait avancer toutes les grilles d'une génération.
+     * Chaque cellule est d'abord additionnée à ses voisines de gauche et de
+     * droite (somme de 0 à 3 sur deux bits), puis les sommes des lignes du
+     * dessus, courante et du dessous donnent le total du carré de 3x3
+     * cellules : une cellule est vivante à la génération suivante si ce total
+     * vaut 3, ou 4 si elle était déjà vivante.
+     * Comme Grid avec ses tuiles, seules les lignes proches d'une ligne ayant
+     * changé dans une grille suivie sont recalculées : les autres grilles,
+     * dont l'évolution n'intéresse plus l'appelant, peuvent devenir fausses.
+     * @param watched Masque des grilles suivies.
+     */
+    public void nextGeneration(long watched) {
+        long[] swap;
+        boolean[] swapRows;
+        long changed = 0;
+        long differs = 0;
+        long rowChanged;
+        int up, row, down, left, right, above, below;
+        long a, b, c, ab;
+        long u1, r1, d1, units, carry, p, q, r, t, one, two, alive, born;
+
+        // Lignes à recalculer, et lignes dont les sommes horizontales sont nécessaires
+        for (int y = 0; y < this.height; y++) {
+            above = y == 0 ? this.height - 1 : y - 1;
+            below = y == this.height - 1 ? 0 : y + 1;
+            this.activeRows[y] = this.changedRows[above] || this.changedRows[y] || this.changedRows[below];
+        }
+        for (int y = 0; y < this.height; y++) {
+            above = y == 0 ? this.height - 1 : y - 1;
+            below = y == this.height - 1 ? 0 : y + 1;
+            if (!this.activeRows[above] && !this.activeRows[y] && !this.activeRows[below]) {
+                continue;
+            }
+            // Sommes horizontales : bit des unités dans sums0, bit des deux dans sums1
+            row = y * this.width;
+            for (int x = 0; x < this.width; x++) {
+                left = x == 0 ? this.width - 1 : x - 1;
+                right = x == this.width - 1 ? 0 : x + 1;
+                a = this.cells[row + left];
+                b = this.cells[row + x];
+                c = this.cells[row + right];
+                ab = a ^ b;
+                this.sums0[row + x] = ab ^ c;
+                this.sums1[row + x] = (a & b) | (ab & c);
+            }
+        }
+
+        for (int y = 0; y < this.height; y++) {
+            row = y * this.width;
+            if (!this.activeRows[y]) {
+                // Ligne et voisines inchangées dans les grilles suivies
+                System.arraycopy(this.cells, row, this.next, row, this.width);
+                this.nextChangedRows[y] = false;
+                continue;
+            }
+            up = (y == 0 ? this.height - 1 : y - 1) * this.width;
+            down = (y == this.height - 1 ? 0 : y + 1) * this.width;
+            rowChanged = 0;
+            for (int x = 0; x < this.width; x++) {
+                // Unités du total, et retenue s'ajoutant aux trois bits des deux
+                a = this.sums0[up + x];
+                b = this.sums0[row + x];
+                c = this.sums0[down + x];
+                ab = a ^ b;
+                units = ab ^ c;
+                carry = (a & b) | (ab & c);
+
+                // Nombre de bits des deux parmi u1, r1, d1 et carry : exactement 1 ou 2
+                u1 = this.sums1[up + x];
+                r1 = this.sums1[row + x];
+                d1 = this.sums1[down + x];
+                p = u1 ^ r1;
+                q = u1 & r1;
+                r = d1 ^ carry;
+                t = d1 & carry;
+                one = (p ^ r) & ~(q | t);
+                two = (p & r) | ((q ^ t) & ~(p | r));
+
+                // Total de 3 (unités et un deux), ou de 4 (deux deux) pour une cellule vivante
+                alive = this.cells[row + x];
+                born = (units & one) | (alive & ~units & two);
+                this.next[row + x] = born;
+                rowChanged |= born ^ alive;
+                differs |= born ^ this.previous[row + x];
+            }
+            changed |= rowChanged;
+            this.nextChangedRows[y] = (rowChanged & watched) != 0;
+        }
+
+        swap = this.previous;
+        this.previous = this.cells;
+        this.cells = this.next;
+        this.next = swap;
+        swapRows = this.changedRows;
+        this.changedRows = this.nextChangedRows;
+        this.nextChangedRows = swapRows;
+        this.generation++;
+        this.steps++;
+        this.changed = changed & this.boards;
+        // Avant la deuxième génération, l'état d'il y a deux générations n'existe pas.
+        this.repeated = this.steps >= 2 ? ~differs & this.boards : 0;
+    }
+
+    /**
+     * @return Le masque des grilles utilisées, le bit k valant 1 pour la
+     *         grille k.
+     */
+    public long getBoards() {
+        return this.boards;
+    }
+
+    /**
+     * @return Le masque des grilles ayant changé lors de la dernière
+     *         génération, exact pour les grilles suivies.
+     */
+    public long getChanged() {
+        return this.changed;
+    }
+
+    /**
+     * @return Le masque des grilles dont la dernière génération est
+     *         identique à celle d'il y a deux générations, exact pour les
+     *         grilles suivies.
+     */
+    public long getRepeated() {
+        return this.repeated;
+    }
+
+    /**
+     * @return La génération actuelle, commune à toutes les grilles.
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * @param board Numéro de la grille.
+     * @return Le nombre de cellules vivantes de la grille.
+     */
+    public long getPopulation(int board) {
+        long population = 0;
+        for (long word : this.cells) {
+            population += (word >>> board) & 1;
+        }
+        return population;
+    }
+}
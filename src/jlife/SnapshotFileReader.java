@@ -0,0 +1,328 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SnapshotFileReader.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Lecture d'un instantané binaire de grille, voir SnapshotFormat.
+ * Le fichier est projeté en mémoire : les mots sont copiés d'un bloc
+ * dans la grille, sans analyse, après vérification du CRC.
+ * @see SnapshotFileWriter
+ * @author Faivre Pierre
+ */
+public class SnapshotFileReader implements PatternReader {
+
+    /**
+     * Taille des morceaux projetés en mémoire, une projection étant
+     * limitée à 2 Go. Multiple de 8 : aucun mot n'est coupé.
+     */
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    /**
+     * Taille visée d'une tranche de lignes transmise par readRows, en mots
+     * de 64 bits.
+     */
+    private static final int SLICE_WORDS = 1 << 20;
+
+    private int width;
+    private int height;
+    private int encoding;
+    private long generation;
+    private long population;
+    private long payloadBytes;
+    private long crc;
+    private String fileName;
+
+    /**
+     * Données du fichier, projetées par morceaux de SEGMENT_BYTES octets.
+     */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * Lit et vérifie l'en-tête, puis projette les données en mémoire.
+     * @param fileName Chemin du fichier à charger.
+     */
+    public SnapshotFileReader(String fileName) throws IOException {
+        this.fileName = fileName;
+        RandomAccessFile file = new RandomAccessFile(fileName, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            if (channel.size() < SnapshotFormat.HEADER_BYTES) {
+                throw new IOException("Not a JLife snapshot: " + fileName);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotFormat.HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (!isSnapshot(header)) {
+                throw new IOException("Not a JLife snapshot: " + fileName);
+            }
+            if (header.getInt(4) != SnapshotFormat.VERSION) {
+                throw new IOException("Unsupported snapshot version " + header.getInt(4) + " in " + fileName);
+            }
+            this.encoding = header.getInt(8);
+            this.width = header.getInt(12);
+            this.height = header.getInt(16);
+            this.generation = header.getLong(24);
+            this.population = header.getLong(32);
+            this.payloadBytes = header.getLong(40);
+            this.crc = header.getLong(48);
+            if ((this.encoding != SnapshotFormat.DENSE && this.encoding != SnapshotFormat.SPARSE)
+                    || header.getInt(20) != SnapshotFormat.TILE_ROWS
+                    || this.width < 0 || this.height < 0 || this.generation < 0 || this.population < 0
+                    || (long) Grid.wordsPerRow(this.width) * this.height > Integer.MAX_VALUE
+                    || this.payloadBytes % 8 != 0
+                    || this.payloadBytes != channel.size() - SnapshotFormat.HEADER_BYTES
+                    || (this.encoding == SnapshotFormat.DENSE
+                        && this.payloadBytes != 8L * Grid.wordsPerRow(this.width) * this.height)) {
+                throw new IOException("Corrupted snapshot: " + fileName);
+            }
+
+            int count = (int) ((this.payloadBytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+            this.segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i * SEGMENT_BYTES;
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, SnapshotFormat.HEADER_BYTES + start,
+                                               Math.min(SEGMENT_BYTES, this.payloadBytes - start));
+                this.segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Indique si un fichier commence par la signature des instantanés.
+     * @param header Premiers octets du fichier.
+     * @return true si la signature est présente.
+     */
+    static boolean isSnapshot(ByteBuffer header) {
+        for (int i = 0; i < SnapshotFormat.MAGIC.length; i++) {
+            if (header.limit() <= i || header.get(i) != SnapshotFormat.MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long[] getGrid() throws IOException {
+        this.checkCrc();
+
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        long[] grid = new long[wordsPerRow * this.height];
+        if (this.encoding == SnapshotFormat.DENSE) {
+            int offset = 0;
+            for (MappedByteBuffer segment : this.segments) {
+                int words = segment.capacity() / 8;
+                segment.asLongBuffer().get(grid, offset, words);
+                offset += words;
+            }
+        } else {
+            this.readTiles(grid, wordsPerRow);
+        }
+        return grid;
+    }
+
+    /**
+     * Transmet les lignes par tranches d'environ SLICE_WORDS mots, alignées
+     * sur les tuiles et réutilisant le même tableau. Avec l'encodage SPARSE,
+     * les tuiles doivent être dans l'ordre croissant de leurs indices, comme
+     * les écrit SnapshotFileWriter, et les tranches sans tuile ne sont pas
+     * transmises.
+     * @param sink Destinataire des tranches.
+     */
+    @Override
+    public void readRows(RowSink sink) throws IOException {
+        this.checkCrc();
+
+        int wordsPerRow = Grid.wordsPerRow(this.width);
+        int sliceRows = Math.max(1, SLICE_WORDS / Math.max(1, wordsPerRow) / SnapshotFormat.TILE_ROWS)
+                        * SnapshotFormat.TILE_ROWS;
+        long[] slice = new long[Math.min(sliceRows, this.height) * wordsPerRow];
+        int count;
+
+        if (this.encoding == SnapshotFormat.DENSE) {
+            for (int y = 0; y < this.height; y += count) {
+                count = Math.min(sliceRows, this.height - y);
+                this.getLongs(8L * y * wordsPerRow, slice, count * wordsPerRow);
+                sink.putRows(y, count, slice, 0);
+            }
+            return;
+        }
+
+        long tiles = (long) (this.height + SnapshotFormat.TILE_ROWS - 1) / SnapshotFormat.TILE_ROWS * wordsPerRow;
+        long position = 0;
+        long previous = -1;
+        long tile;
+        int y = 0;
+        int top, index, rows;
+        boolean filled = false;
+
+        count = Math.min(sliceRows, this.height);
+        while (position < this.payloadBytes) {
+            tile = this.getLong(position);
+            position += 8;
+            if (tile <= previous || tile >= tiles) {
+                throw new IOException("Corrupted snapshot: " + this.fileName);
+            }
+            previous = tile;
+
+            // Tuile au-delà de la tranche : celle-ci est complète.
+            top = (int) (tile / wordsPerRow) * SnapshotFormat.TILE_ROWS;
+            if (top >= y + count) {
+                if (filled) {
+                    sink.putRows(y, count, slice, 0);
+                    Arrays.fill(slice, 0L);
+                    filled = false;
+                }
+                y = top / sliceRows * sliceRows;
+                count = Math.min(sliceRows, this.height - y);
+            }
+
+            rows = Math.min(SnapshotFormat.TILE_ROWS, this.height - top);
+            if (position + 8L * rows > this.payloadBytes) {
+                throw new IOException("Corrupted snapshot: " + this.fileName);
+            }
+            index = (top - y) * wordsPerRow + (int) (tile % wordsPerRow);
+            for (int r = 0; r < rows; r++, index += wordsPerRow) {
+                slice[index] = this.getLong(position);
+                position += 8;
+            }
+            filled = true;
+        }
+        if (filled) {
+            sink.putRows(y, count, slice, 0);
+        }
+    }
+
+    /**
+     * Recopie les tuiles de l'encodage SPARSE dans la grille.
+     * @param grid Grille vide.
+     * @param wordsPerRow Nombre de mots par ligne.
+     */
+    private void readTiles(long[] grid, int wordsPerRow) throws IOException {
+        long tiles = (long) (this.height + SnapshotFormat.TILE_ROWS - 1) / SnapshotFormat.TILE_ROWS * wordsPerRow;
+        long position = 0;
+        long tile;
+        int index, rows;
+
+        while (position < this.payloadBytes) {
+            tile = this.getLong(position);
+            position += 8;
+            if (tile < 0 || tile >= tiles) {
+                throw new IOException("Corrupted snapshot: " + this.fileName);
+            }
+            index = (int) (tile / wordsPerRow) * SnapshotFormat.TILE_ROWS;
+            rows = Math.min(SnapshotFormat.TILE_ROWS, this.height - index);
+            index = index * wordsPerRow + (int) (tile % wordsPerRow);
+            if (position + 8L * rows > this.payloadBytes) {
+                throw new IOException("Corrupted snapshot: " + this.fileName);
+            }
+            for (int y = 0; y < rows; y++, index += wordsPerRow) {
+                grid[index] = this.getLong(position);
+                position += 8;
+            }
+        }
+    }
+
+    /**
+     * @param position Position d'un mot dans les données.
+     * @return Le mot à cette position.
+     */
+    private long getLong(long position) {
+        return this.segments[(int) (position / SEGMENT_BYTES)].getLong((int) (position % SEGMENT_BYTES));
+    }
+
+    /**
+     * Copie des mots consécutifs des données dans un tableau.
+     * @param position Position du premier mot dans les données.
+     * @param dst Tableau recevant les mots, à partir de l'indice 0.
+     * @param length Nombre de mots.
+     */
+    private void getLongs(long position, long[] dst, int length) {
+        ByteBuffer bytes;
+        int offset = 0;
+        int n;
+
+        while (offset < length) {
+            // Vue propre à l'appel, dont l'ordre des octets doit être redéfini.
+            bytes = this.segments[(int) (position / SEGMENT_BYTES)].duplicate();
+            bytes.position((int) (position % SEGMENT_BYTES));
+            n = Math.min(length - offset, bytes.remaining() / 8);
+            bytes.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(dst, offset, n);
+            offset += n;
+            position += 8L * n;
+        }
+    }
+
+    /**
+     * Vérifie que les données correspondent au CRC de l'en-tête.
+     */
+    private void checkCrc() throws IOException {
+        CRC32 check = new CRC32();
+        byte[] bytes = new byte[1 << 16];
+        int length;
+
+        for (MappedByteBuffer segment : this.segments) {
+            ByteBuffer data = segment.duplicate();
+            while (data.hasRemaining()) {
+                length = Math.min(bytes.length, data.remaining());
+                data.get(bytes, 0, length);
+                check.update(bytes, 0, length);
+            }
+        }
+        if (check.getValue() != this.crc) {
+            throw new IOException("Corrupted snapshot: " + this.fileName);
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public long getPopulation() {
+        return this.population;
+    }
+
+    @Override
+    public long getGeneration() {
+        return this.generation;
+    }
+}
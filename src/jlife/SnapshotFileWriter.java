@@ -0,0 +1,284 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SnapshotFileWriter.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Enregistrement d'une grille dans un instantané binaire, voir
+ * SnapshotFormat. L'encodage SPARSE est choisi lorsqu'il est plus petit,
+ * c'est-à-dire pour une grille surtout vide.
+ *
+ * Les lignes sont lues une ligne de tuiles à la fois depuis une RowSource,
+ * en deux passages : le premier compte la population et la taille de
+ * l'encodage SPARSE, le second écrit les données. Seule une ligne de tuiles
+ * est donc copiée dans le tas, même pour une grille projetée en mémoire.
+ * @see SnapshotFileReader
+ * @author Faivre Pierre
+ */
+public class SnapshotFileWriter {
+
+    /**
+     * Nombre de mots écrits à la fois.
+     */
+    private static final int BUFFER_WORDS = 1 << 17;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final RowSource source;
+
+    /**
+     * Ligne de tuiles en cours : TILE_ROWS lignes mises bout à bout.
+     */
+    private long[] band;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private LongBuffer words;
+    private CRC32 crc;
+    private long payloadBytes;
+
+    private SnapshotFileWriter(int width, int height, RowSource source) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = Grid.wordsPerRow(width);
+        this.source = source;
+    }
+
+    /**
+     * Enregistre une grille, à sa génération courante.
+     * @param grid Grille à enregistrer.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    public static void write(Grid grid, String fileName) throws IOException {
+        write(grid.getWidth(), grid.getHeight(), grid.getRows(), grid.getGeneration(), fileName);
+    }
+
+    /**
+     * Enregistre une fenêtre de l'univers d'un moteur. Les lignes d'une
+     * grille entière, projetée en mémoire ou non, sont lues directement ;
+     * les autres fenêtres sont lues par WindowRows.
+     * @param engine Moteur dont les cellules sont enregistrées.
+     * @param window Rectangle de cellules à enregistrer.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    public static void write(LifeEngine engine, BoundingBox window, String fileName) throws IOException {
+        boolean whole = window.getX() == 0 && window.getY() == 0
+                        && window.getWidth() == engine.getBoundingBox().getWidth()
+                        && window.getHeight() == engine.getBoundingBox().getHeight();
+        if (engine instanceof Grid && whole) {
+            write((Grid) engine, fileName);
+            return;
+        }
+        if (window.getWidth() > Integer.MAX_VALUE || window.getHeight() > Integer.MAX_VALUE
+                || (long) Grid.wordsPerRow((int) window.getWidth()) * window.getHeight() > Integer.MAX_VALUE) {
+            throw new IOException("Pattern too large for a snapshot");
+        }
+
+        RowSource source;
+        if (engine instanceof MappedGrid && whole) {
+            source = (MappedGrid) engine;
+        } else {
+            source = new WindowRows(engine, window);
+        }
+        new SnapshotFileWriter(source.getWidth(), source.getHeight(), source).write(engine.getGeneration(), fileName);
+    }
+
+    /**
+     * Enregistre les lignes d'une grille.
+     * @param width Largeur de la grille.
+     * @param height Hauteur de la grille.
+     * @param rows Lignes de la grille mises bout à bout.
+     * @param generation Génération de la grille.
+     * @param fileName Chemin du fichier à écrire.
+     */
+    static void write(final int width, final int height, final long[] rows, long generation, String fileName) throws IOException {
+        final int wordsPerRow = Grid.wordsPerRow(width);
+        RowSource source = new RowSource() {
+            @Override
+            public int getWidth() {
+                return width;
+            }
+
+            @Override
+            public int getHeight() {
+                return height;
+            }
+
+            @Override
+            public void copyRows(int y, int count, long[] dst, int offset) {
+                System.arraycopy(rows, y * wordsPerRow, dst, offset, count * wordsPerRow);
+            }
+        };
+        new SnapshotFileWriter(width, height, source).write(generation, fileName);
+    }
+
+    private void write(long generation, String fileName) throws IOException {
+        int tileRows = (this.height + SnapshotFormat.TILE_ROWS - 1) / SnapshotFormat.TILE_ROWS;
+        this.band = new long[SnapshotFormat.TILE_ROWS * this.wordsPerRow];
+        long population = 0;
+        long sparseBytes = 0;
+        int rows;
+
+        for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+            rows = this.readBand(tileRow);
+            for (int i = 0; i < rows * this.wordsPerRow; i++) {
+                population += Long.bitCount(this.band[i]);
+            }
+            for (int column = 0; column < this.wordsPerRow; column++) {
+                if (!this.isEmpty(column, rows)) {
+                    sparseBytes += 8L * (1 + rows);
+                }
+            }
+        }
+        int encoding = sparseBytes < 8L * this.wordsPerRow * this.height ? SnapshotFormat.SPARSE : SnapshotFormat.DENSE;
+
+        RandomAccessFile file = new RandomAccessFile(fileName, "rw");
+        try {
+            file.setLength(0);
+            this.channel = file.getChannel();
+            this.buffer = ByteBuffer.allocate(8 * BUFFER_WORDS).order(ByteOrder.LITTLE_ENDIAN);
+            this.words = this.buffer.asLongBuffer();
+            this.crc = new CRC32();
+            this.payloadBytes = 0;
+            this.channel.position(SnapshotFormat.HEADER_BYTES);
+
+            for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+                rows = this.readBand(tileRow);
+                if (encoding == SnapshotFormat.SPARSE) {
+                    for (int column = 0; column < this.wordsPerRow; column++) {
+                        if (!this.isEmpty(column, rows)) {
+                            this.writeTile((long) tileRow * this.wordsPerRow + column, column, rows);
+                        }
+                    }
+                } else {
+                    this.writeWords(rows * this.wordsPerRow);
+                }
+            }
+            this.flush();
+
+            // L'en-tête est écrit en dernier, une fois le CRC connu.
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(SnapshotFormat.MAGIC);
+            header.putInt(SnapshotFormat.VERSION);
+            header.putInt(encoding);
+            header.putInt(this.width);
+            header.putInt(this.height);
+            header.putInt(SnapshotFormat.TILE_ROWS);
+            header.putLong(generation);
+            header.putLong(population);
+            header.putLong(this.payloadBytes);
+            header.putLong(this.crc.getValue());
+            header.putLong(0);
+            header.flip();
+            while (header.hasRemaining()) {
+                this.channel.write(header, header.position());
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Copie une ligne de tuiles de la source dans band.
+     * @param tileRow Indice de la ligne de tuiles.
+     * @return Nombre de lignes de la ligne de tuiles.
+     */
+    private int readBand(int tileRow) {
+        int top = tileRow * SnapshotFormat.TILE_ROWS;
+        int rows = Math.min(SnapshotFormat.TILE_ROWS, this.height - top);
+        this.source.copyRows(top, rows, this.band, 0);
+        return rows;
+    }
+
+    /**
+     * @param column Colonne de la tuile dans la ligne de tuiles en cours.
+     * @param rows Nombre de lignes de la ligne de tuiles.
+     * @return true si aucune cellule de la tuile n'est vivante.
+     */
+    private boolean isEmpty(int column, int rows) {
+        for (int y = 0, index = column; y < rows; y++, index += this.wordsPerRow) {
+            if (this.band[index] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ajoute une tuile de la ligne de tuiles en cours aux données : son
+     * indice puis ses mots.
+     * @param tile Indice de la tuile.
+     * @param column Colonne de la tuile dans la ligne de tuiles.
+     * @param rows Nombre de lignes de la ligne de tuiles.
+     */
+    private void writeTile(long tile, int column, int rows) throws IOException {
+        if (this.words.remaining() < 1 + SnapshotFormat.TILE_ROWS) {
+            this.flush();
+        }
+        this.words.put(tile);
+        for (int y = 0, index = column; y < rows; y++, index += this.wordsPerRow) {
+            this.words.put(this.band[index]);
+        }
+    }
+
+    /**
+     * Ajoute aux données les premiers mots de la ligne de tuiles en cours.
+     * @param length Nombre de mots.
+     */
+    private void writeWords(int length) throws IOException {
+        int n;
+        for (int i = 0; i < length; i += n) {
+            n = Math.min(this.words.remaining(), length - i);
+            this.words.put(this.band, i, n);
+            if (!this.words.hasRemaining()) {
+                this.flush();
+            }
+        }
+    }
+
+    /**
+     * Écrit les mots en attente dans le fichier.
+     */
+    private void flush() throws IOException {
+        int bytes = 8 * this.words.position();
+        this.buffer.clear();
+        this.buffer.limit(bytes);
+        this.crc.update(this.buffer.array(), 0, bytes);
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.payloadBytes += bytes;
+        this.words.clear();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SnapshotFormat.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Description du format binaire des instantanés de grille.
+ *
+ * Un instantané commence par un en-tête de HEADER_BYTES octets, dont les
+ * entiers sont écrits en petit-boutiste :
+ * <pre>
+ *  0  "JLSF"                  signature
+ *  4  int   version           VERSION
+ *  8  int   encodage          DENSE ou SPARSE
+ * 12  int   largeur
+ * 16  int   hauteur
+ * 20  int   hauteur des tuiles TILE_ROWS
+ * 24  long  génération
+ * 32  long  population
+ * 40  long  taille des données en octets
+ * 48  long  CRC32 des données
+ * 56  long  réservé (0)
+ * </pre>
+ * Les données suivent :
+ * <ul>
+ * <li>DENSE : toutes les lignes de la grille, mot par mot, comme dans Grid.</li>
+ * <li>SPARSE : pour chaque tuile non vide (un mot de large sur TILE_ROWS
+ * lignes), dans l'ordre croissant des indices, son indice (ligne de
+ * tuiles * mots par ligne + colonne) puis ses mots de haut en bas. La dernière ligne de tuiles peut être moins
+ * haute.</li>
+ * </ul>
+ * Tout est aligné sur 8 octets : les données peuvent être lues directement
+ * depuis le fichier projeté en mémoire.
+ * @see SnapshotFileReader
+ * @see SnapshotFileWriter
+ * @author Faivre Pierre
+ */
+final class SnapshotFormat {
+
+    /**
+     * Signature au début du fichier.
+     */
+    static final byte[] MAGIC = {'J', 'L', 'S', 'F'};
+
+    /**
+     * Version du format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Taille de l'en-tête en octets.
+     */
+    static final int HEADER_BYTES = 64;
+
+    /**
+     * Encodage où toutes les lignes sont écrites.
+     */
+    static final int DENSE = 0;
+
+    /**
+     * Encodage où seules les tuiles non vides sont écrites.
+     */
+    static final int SPARSE = 1;
+
+    /**
+     * Hauteur des tuiles de l'encodage SPARSE.
+     */
+    static final int TILE_ROWS = Grid.TILE_ROWS;
+
+    private SnapshotFormat() {
+    }
+}
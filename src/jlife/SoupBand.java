@@ -0,0 +1,85 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SoupBand.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Suite de graines consécutives calculée par un fil d'exécution du pool.
+ * Une suite trop longue est coupée en deux, en multiples du grain de la
+ * recherche, jusqu'à atteindre ce grain : la durée d'une soupe étant très variable, les petites tâches
+ * permettent aux fils inoccupés de voler le travail restant des autres.
+ * Chaque soupe écrit son résultat à sa propre position dans le bloc, aucun
+ * verrou n'est donc nécessaire.
+ * @see SoupSearch
+ * @author Faivre Pierre
+ */
+class SoupBand extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SoupSearch search;
+
+    /**
+     * Graine de la première soupe du bloc.
+     */
+    private final long blockStart;
+
+    /**
+     * Position dans le bloc de la première soupe de la suite.
+     */
+    private final int from;
+
+    /**
+     * Position dans le bloc suivant la dernière soupe de la suite.
+     */
+    private final int to;
+
+    /**
+     * @param search Recherche recevant les résultats.
+     * @param blockStart Graine de la première soupe du bloc.
+     * @param from Position dans le bloc de la première soupe de la suite.
+     * @param to Position dans le bloc suivant la dernière soupe de la suite.
+     */
+    SoupBand(SoupSearch search, long blockStart, int from, int to) {
+        this.search = search;
+        this.blockStart = blockStart;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        int grain = this.search.getGrain();
+        if (this.to - this.from <= grain) {
+            this.search.runSoups(this.blockStart, this.from, this.to);
+        } else {
+            int middle = this.from + ((this.to - this.from) / 2 + grain - 1) / grain * grain;
+            invokeAll(new SoupBand(this.search, this.blockStart, this.from, middle),
+                      new SoupBand(this.search, this.blockStart, middle, this.to));
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SoupSearch.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Recherche par soupes : calcule une grille aléatoire par graine d'un
+ * intervalle, chacune jusqu'à ce qu'elle devienne inerte ou revienne à un
+ * état déjà rencontré, et écrit le recensement des résultats dans un
+ * fichier CSV (graine, population finale, génération de stabilisation et
+ * période). Les soupes sont réparties sur un ForkJoinPool, un fil inoccupé
+ * volant le travail des autres ; chaque grille est calculée dans un seul
+ * fil. Les graines sont traitées par blocs, écrits dans l'ordre dès qu'ils
+ * sont terminés.
+ * Avec le moteur SLICED, les soupes sont calculées 64 par 64 par
+ * SlicedBoards, qui ne reconnaît que les états stables ou de période 2 :
+ * les rares soupes restantes sont ensuite calculées une à une par Grid, le
+ * recensement est donc identique.
+ * @see SoupBand
+ * @author Faivre Pierre
+ */
+public class SoupSearch {
+
+    /**
+     * Nombre de soupes d'un bloc écrit d'un coup dans le fichier.
+     */
+    private static final int BLOCK_SOUPS = 1 << 14;
+
+    /**
+     * Nombre maximal de soupes d'une tâche avant découpage, sauf avec le
+     * moteur SLICED.
+     */
+    private static final int GRAIN = 4;
+
+    /**
+     * Nombre de soupes en attente en dessous duquel SlicedBoards, qui calcule
+     * toujours ses 64 grilles, est abandonné pour Grid.
+     */
+    private static final int SLICED_FALLBACK = 4;
+
+    private final int width;
+    private final int height;
+    private final int density;
+
+    /**
+     * Nombre maximal de générations calculées par soupe.
+     */
+    private final long maxGeneration;
+
+    /**
+     * Indique si les soupes sont calculées par LutGrid plutôt que par Grid.
+     */
+    private final boolean lut;
+
+    /**
+     * Indique si les soupes sont calculées 64 par 64 par SlicedBoards.
+     */
+    private final boolean sliced;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Résultats du bloc en cours, indexés par la position de la graine dans
+     * le bloc.
+     */
+    private final long[] populations = new long[BLOCK_SOUPS];
+    private final long[] stabilizations = new long[BLOCK_SOUPS];
+    private final long[] periods = new long[BLOCK_SOUPS];
+
+    /**
+     * Nombre de soupes n'étant pas devenues stables ou périodiques dans la
+     * limite de générations.
+     */
+    private long unresolved;
+
+    /**
+     * @param width Nombre de cellules en largeur des grilles.
+     * @param height Nombre de cellules en hauteur des grilles.
+     * @param density Densité des cellules vivantes (de 1 à 10).
+     * @param maxGeneration Nombre maximal de générations par soupe.
+     * @param engine GRID, LUT ou SLICED.
+     * @param threads Nombre de fils d'exécution.
+     */
+    public SoupSearch(int width, int height, int density, long maxGeneration, EngineType engine, int threads) {
+        this.width = width;
+        this.height = height;
+        this.density = density;
+        this.maxGeneration = maxGeneration;
+        this.lut = engine == EngineType.LUT;
+        this.sliced = engine == EngineType.SLICED;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Calcule les soupes de toutes les graines d'un intervalle et écrit leur
+     * recensement.
+     * @param first Première graine.
+     * @param last Dernière graine, incluse.
+     * @param fileName Fichier CSV recevant le recensement.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void run(long first, long last, String fileName) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8"), 1 << 16);
+        long start = first;
+        int count;
+
+        this.unresolved = 0;
+        try {
+            out.write("seed,population,stabilization,period\n");
+            do {
+                count = (int) Math.min(BLOCK_SOUPS - 1, last - start) + 1;
+                this.pool.invoke(new SoupBand(this, start, 0, count));
+                this.writeBlock(out, start, count);
+                start += count;
+            } while (start - 1 != last);
+        } finally {
+            out.close();
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * @return Le nombre maximal de soupes d'une tâche avant découpage, dont
+     *         les tâches découpées sont des multiples.
+     */
+    int getGrain() {
+        return this.sliced ? SlicedBoards.BOARDS : GRAIN;
+    }
+
+    /**
+     * Calcule une suite de soupes et range leurs résultats dans le bloc en cours.
+     * @param blockStart Graine de la première soupe du bloc.
+     * @param from Position dans le bloc de la première soupe.
+     * @param to Position dans le bloc suivant la dernière soupe.
+     */
+    void runSoups(long blockStart, int from, int to) {
+        if (this.sliced) {
+            this.runSliced(blockStart, from, to);
+        } else {
+            for (int i = from; i < to; i++) {
+                this.runSoup(new Grid(this.width, this.height, this.density, blockStart + i), i);
+            }
+        }
+    }
+
+    /**
+     * Calcule au plus 64 soupes ensemble. Une soupe est réglée dès que sa
+     * grille ne change plus, ou qu'elle revient à son état d'il y a deux
+     * générations. Lorsqu'il n'en reste que quelques-unes, ce sont le plus
+     * souvent des cycles plus longs ou des soupes qui ne se stabiliseront
+     * pas : elles sont reprises depuis le début une à une par runSoup, dont
+     * le détecteur de cycles donne la période et le début du cycle.
+     * @param blockStart Graine de la première soupe du bloc.
+     * @param from Position dans le bloc de la première soupe.
+     * @param to Position dans le bloc suivant la dernière soupe.
+     */
+    private void runSliced(long blockStart, int from, int to) {
+        Grid[] grids = new Grid[to - from];
+        SlicedBoards boards;
+        long pending, still, repeated, generation;
+        int board;
+
+        for (int i = 0; i < grids.length; i++) {
+            grids[i] = new Grid(this.width, this.height, this.density, blockStart + from + i);
+        }
+        boards = new SlicedBoards(grids);
+        pending = boards.getBoards();
+        while (Long.bitCount(pending) > SLICED_FALLBACK && boards.getGeneration() < this.maxGeneration) {
+            boards.nextGeneration(pending);
+            generation = boards.getGeneration();
+            // Une grille stable est aussi revenue à son état d'il y a deux générations.
+            still = pending & ~boards.getChanged();
+            repeated = pending & ~still & boards.getRepeated();
+            pending &= ~(still | repeated);
+            while (still != 0) {
+                board = Long.numberOfTrailingZeros(still);
+                still &= still - 1;
+                this.settle(from + board, boards.getPopulation(board), generation - 1, 1);
+            }
+            while (repeated != 0) {
+                board = Long.numberOfTrailingZeros(repeated);
+                repeated &= repeated - 1;
+                this.settle(from + board, boards.getPopulation(board), generation - 2, 2);
+            }
+        }
+
+        while (pending != 0) {
+            board = Long.numberOfTrailingZeros(pending);
+            pending &= pending - 1;
+            this.runSoup(grids[board], from + board);
+        }
+    }
+
+    /**
+     * Calcule une soupe et range son résultat dans le bloc en cours.
+     * @param grid Grille aléatoire de la soupe, modifiée par le calcul.
+     * @param index Position de la graine dans le bloc.
+     */
+    private void runSoup(Grid grid, int index) {
+        CycleDetector cycles = new CycleDetector();
+        long stabilization = -1;
+        long period = 0;
+
+        if (this.lut) {
+            grid = new LutGrid(grid);
+        }
+        cycles.update(grid);
+        while (grid.getGeneration() < this.maxGeneration) {
+            if (!grid.nextGeneration()) {
+                // Grille inerte : vide depuis cette génération si elle vient
+                // de mourir, sinon stable depuis la génération précédente.
+                stabilization = grid.hasChanged() ? grid.getGeneration() : grid.getGeneration() - 1;
+                period = 1;
+                break;
+            }
+            if (cycles.update(grid)) {
+                stabilization = cycles.getStart();
+                period = cycles.getPeriod();
+                break;
+            }
+        }
+        this.settle(index, grid.getPopulation(), stabilization, period);
+    }
+
+    /**
+     * Range le résultat d'une soupe dans le bloc en cours.
+     * @param index Position de la graine dans le bloc.
+     * @param population Population finale.
+     * @param stabilization Première génération de l'état stable ou
+     *                      périodique, -1 si la soupe n'est pas résolue.
+     * @param period Période de l'état final, 0 si la soupe n'est pas résolue.
+     */
+    private void settle(int index, long population, long stabilization, long period) {
+        this.populations[index] = population;
+        this.stabilizations[index] = stabilization;
+        this.periods[index] = period;
+    }
+
+    /**
+     * Écrit les résultats du bloc en cours, un par ligne. La génération de
+     * stabilisation et la période d'une soupe non résolue sont laissées vides.
+     * @param out Fichier du recensement.
+     * @param start Graine du premier résultat.
+     * @param count Nombre de résultats.
+     * @throws IOException Si l'écriture échoue.
+     */
+    private void writeBlock(Writer out, long start, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (this.periods[i] == 0) {
+                this.unresolved++;
+                out.write((start + i) + "," + this.populations[i] + ",,\n");
+            } else {
+                out.write((start + i) + "," + this.populations[i] + "," + this.stabilizations[i]
+                          + "," + this.periods[i] + "\n");
+            }
+        }
+    }
+
+    /**
+     * @return Le nombre de soupes de la dernière recherche n'étant pas
+     *         devenues stables ou périodiques dans la limite de générations.
+     */
+    public long getUnresolved() {
+        return this.unresolved;
+    }
+}
@@ -0,0 +1,281 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * SparseGrid.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+/**
+ * Univers infini ne stockant que les cellules vivantes.
+ * Contrairement à Grid, les bords ne se rejoignent pas : un vaisseau
+ * continue sa route indéfiniment. Le coût d'une génération est
+ * proportionnel à la population et non à la surface occupée.
+ * @see CellTable
+ * @author Faivre Pierre
+ */
+public class SparseGrid implements LifeEngine {
+
+    /**
+     * Cellules vivantes (la valeur associée n'est pas utilisée).
+     */
+    private CellTable cells;
+
+    /**
+     * Table de calcul de la génération suivante : pour chaque cellule
+     * vivante ou voisine d'une cellule vivante, le bit de poids faible
+     * indique si elle est vivante, les autres bits comptent ses voisins.
+     */
+    private CellTable neighbors;
+
+    /**
+     * Nombre d'itérations écoulées depuis l'initialisation de la grille.
+     */
+    private long generation;
+
+    /**
+     * Indique si la dernière génération a modifié au moins une cellule.
+     */
+    private boolean changed;
+
+    /**
+     * Nombres de naissances et de morts lors de la dernière génération.
+     */
+    private long births, deaths;
+
+    /**
+     * Empreinte de l'univers : ou exclusif des empreintes des cellules
+     * vivantes, mis à jour à chaque naissance et à chaque mort.
+     */
+    private long stateHash;
+
+    /**
+     * Rectangle englobant les cellules vivantes.
+     */
+    private int minX, minY, maxX, maxY;
+
+    /**
+     * Créée un univers contenant les cellules de la grille, placées aux
+     * mêmes coordonnées.
+     * @param grid Grille de départ.
+     */
+    public SparseGrid(Grid grid) {
+        this.cells = new CellTable((int) Math.min(grid.getPopulation() * 2, 1 << 30));
+        this.neighbors = new CellTable((int) Math.min(grid.getPopulation() * 16, 1 << 30));
+        this.generation = grid.getGeneration();
+
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                if (grid.isAlive(x, y)) {
+                    this.cells.add(CellTable.key(x, y), 1);
+                    this.stateHash ^= CycleDetector.mix(CellTable.key(x, y));
+                }
+            }
+        }
+        this.updateBounds();
+    }
+
+    @Override
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    @Override
+    public long getPopulation() {
+        return this.cells.size();
+    }
+
+    @Override
+    public boolean hasChanged() {
+        return this.changed;
+    }
+
+    @Override
+    public long getBirths() {
+        return this.births;
+    }
+
+    @Override
+    public long getDeaths() {
+        return this.deaths;
+    }
+
+    /**
+     * Cellules vivantes et voisines de cellules vivantes, seules examinées.
+     */
+    @Override
+    public long getActiveCells() {
+        return this.neighbors.size();
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (this.cells.size() == 0) {
+            return new BoundingBox(0, 0, 0, 0);
+        }
+        return new BoundingBox(this.minX, this.minY, (long) this.maxX - this.minX + 1, (long) this.maxY - this.minY + 1);
+    }
+
+    @Override
+    public long getStateHash() {
+        return this.stateHash;
+    }
+
+    @Override
+    public void skipGenerations(long generations) {
+        this.generation += generations;
+    }
+
+    /**
+     * Les cellules vivantes sont parcourues une seule fois, quelle que soit
+     * la taille de la fenêtre.
+     */
+    @Override
+    public void countBlocks(BoundingBox window, int scale, long[] counts) {
+        int columns = (int) ((window.getWidth() + scale - 1) / scale);
+        long key, x, y;
+
+        for (int i = 0; i < this.cells.capacity(); i++) {
+            key = this.cells.keyAt(i);
+            if (key != CellTable.FREE) {
+                x = CellTable.x(key) - window.getX();
+                y = CellTable.y(key) - window.getY();
+                if (x >= 0 && y >= 0 && x < window.getWidth() && y < window.getHeight()) {
+                    counts[(int) (y / scale) * columns + (int) (x / scale)]++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isAlive(long x, long y) {
+        return x == (int) x && y == (int) y && this.isAlive((int) x, (int) y);
+    }
+
+    /**
+     * Indique l'état de la cellule qui se trouve aux coordonnées (x;y).
+     * @param x Abscisse de la cellule.
+     * @param y Ordonnée de la cellule.
+     * @return true si la cellule est vivante.
+     */
+    public boolean isAlive(int x, int y) {
+        return this.cells.get(CellTable.key(x, y)) != 0;
+    }
+
+    @Override
+    public boolean nextGenerations(long generations) {
+        boolean active = true;
+        for (long i = 0; i < generations && active; i++) {
+            active = this.nextGeneration();
+        }
+        return active;
+    }
+
+    /**
+     * Fait avancer l'univers d'une génération.
+     * @return Booléen valant false si l'univers est inerte
+     */
+    public boolean nextGeneration() {
+        long key;
+        int x, y, value, count;
+        boolean alive, nextAlive;
+        boolean inert = true;
+        long births = 0;
+        long deaths = 0;
+
+        // Chaque cellule vivante se signale à ses huit voisines.
+        this.neighbors.clear(this.cells.size() * 9);
+        for (int i = 0; i < this.cells.capacity(); i++) {
+            key = this.cells.keyAt(i);
+            if (key == CellTable.FREE) {
+                continue;
+            }
+            x = CellTable.x(key);
+            y = CellTable.y(key);
+            this.neighbors.add(key, 1);
+            this.neighbors.add(CellTable.key(x - 1, y - 1), 2);
+            this.neighbors.add(CellTable.key(x, y - 1), 2);
+            this.neighbors.add(CellTable.key(x + 1, y - 1), 2);
+            this.neighbors.add(CellTable.key(x - 1, y), 2);
+            this.neighbors.add(CellTable.key(x + 1, y), 2);
+            this.neighbors.add(CellTable.key(x - 1, y + 1), 2);
+            this.neighbors.add(CellTable.key(x, y + 1), 2);
+            this.neighbors.add(CellTable.key(x + 1, y + 1), 2);
+        }
+
+        // Puis on applique la règle à toutes les cellules concernées.
+        this.cells.clear(this.cells.size());
+        for (int i = 0; i < this.neighbors.capacity(); i++) {
+            key = this.neighbors.keyAt(i);
+            if (key == CellTable.FREE) {
+                continue;
+            }
+            value = this.neighbors.valueAt(i);
+            alive = (value & 1) != 0;
+            count = value >>> 1;
+            nextAlive = count == 3 || (count == 2 && alive);
+            if (nextAlive) {
+                this.cells.add(key, 1);
+            }
+            if (nextAlive != alive) {
+                this.stateHash ^= CycleDetector.mix(key);
+                inert = false;
+                if (nextAlive) {
+                    births++;
+                } else {
+                    deaths++;
+                }
+            }
+        }
+        this.births = births;
+        this.deaths = deaths;
+
+        this.updateBounds();
+        this.generation++;
+        this.changed = !inert;
+        return this.cells.size() > 0 && !inert;
+    }
+
+    /**
+     * Recalcule le rectangle englobant les cellules vivantes.
+     */
+    private void updateBounds() {
+        long key;
+        int x, y;
+
+        this.minX = Integer.MAX_VALUE;
+        this.minY = Integer.MAX_VALUE;
+        this.maxX = Integer.MIN_VALUE;
+        this.maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < this.cells.capacity(); i++) {
+            key = this.cells.keyAt(i);
+            if (key != CellTable.FREE) {
+                x = CellTable.x(key);
+                y = CellTable.y(key);
+                this.minX = Math.min(this.minX, x);
+                this.minY = Math.min(this.minY, y);
+                this.maxX = Math.max(this.maxX, x);
+                this.maxY = Math.max(this.maxY, y);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * StatsRecorder.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+
+package jlife;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Enregistre des mesures à chaque génération : naissances, morts,
+ * population, cellules examinées et durée du calcul en nanosecondes.
+ * Les lignes sont écrites en CSV, ou en JSON (un objet par ligne) si le
+ * nom du fichier se termine par .jsonl ou .json, au travers d'un tampon
+ * de 1 Mo : l'écriture se fait hors de la mesure et n'atteint le disque
+ * que de loin en loin. Le fichier se termine par un résumé : débit en
+ * cellules par seconde et percentiles de la durée d'une génération.
+ * @see LatencyHistogram
+ * @author Faivre Pierre
+ */
+public class StatsRecorder {
+
+    /**
+     * Taille du tampon d'écriture, en caractères.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Writer out;
+
+    /**
+     * Indique si les lignes sont écrites en JSON plutôt qu'en CSV.
+     */
+    private final boolean json;
+
+    private final String fileName;
+
+    /**
+     * Durées des générations enregistrées.
+     */
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Durée totale des générations enregistrées, en nanosecondes.
+     */
+    private long totalNanos;
+
+    /**
+     * Nombre total de cellules de l'univers, soit la surface du rectangle
+     * englobant cumulée sur les générations enregistrées.
+     */
+    private long totalCells;
+
+    /**
+     * Ouvre le fichier et y écrit l'en-tête.
+     * @param fileName Nom du fichier, dont l'extension choisit le format.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public StatsRecorder(String fileName) throws IOException {
+        String lower = fileName.toLowerCase();
+        this.fileName = fileName;
+        this.json = lower.endsWith(".jsonl") || lower.endsWith(".json");
+        this.out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8"), BUFFER_SIZE);
+        if (!this.json) {
+            this.out.write("generation,births,deaths,population,active_cells,step_ns\n");
+        }
+    }
+
+    /**
+     * Enregistre la génération qu'un moteur vient de calculer.
+     * @param engine Moteur, après le calcul de la génération.
+     * @param nanos Durée du calcul en nanosecondes.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void record(LifeEngine engine, long nanos) throws IOException {
+        long births = engine.getBirths();
+        long deaths = engine.getDeaths();
+        BoundingBox box = engine.getBoundingBox();
+
+        this.latencies.record(nanos);
+        this.totalNanos += nanos;
+        this.totalCells += box.getWidth() * box.getHeight();
+
+        if (this.json) {
+            this.out.write("{\"generation\":" + engine.getGeneration()
+                           + ",\"births\":" + (births < 0 ? "null" : String.valueOf(births))
+                           + ",\"deaths\":" + (deaths < 0 ? "null" : String.valueOf(deaths))
+                           + ",\"population\":" + engine.getPopulation()
+                           + ",\"active_cells\":" + engine.getActiveCells()
+                           + ",\"step_ns\":" + nanos + "}\n");
+        } else {
+            // Les valeurs inconnues sont laissées vides.
+            this.out.write(engine.getGeneration()
+                           + "," + (births < 0 ? "" : String.valueOf(births))
+                           + "," + (deaths < 0 ? "" : String.valueOf(deaths))
+                           + "," + engine.getPopulation()
+                           + "," + engine.getActiveCells()
+                           + "," + nanos + "\n");
+        }
+    }
+
+    /**
+     * @return Le nombre de cellules calculées par seconde, 0 si aucune
+     *         durée n'a été mesurée.
+     */
+    public double getCellsPerSecond() {
+        return this.totalNanos > 0 ? this.totalCells * 1e9 / this.totalNanos : 0;
+    }
+
+    /**
+     * @return L'histogramme des durées des générations.
+     */
+    public LatencyHistogram getLatencies() {
+        return this.latencies;
+    }
+
+    /**
+     * @return Le nom du fichier.
+     */
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    /**
+     * Écrit le résumé et ferme le fichier. En CSV, le résumé tient sur des
+     * lignes de commentaire commençant par #.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void close() throws IOException {
+        long count = this.latencies.getCount();
+        long p50 = this.latencies.getPercentile(50);
+        long p99 = this.latencies.getPercentile(99);
+        long max = this.latencies.getMax();
+        long cellsPerSecond = Math.round(this.getCellsPerSecond());
+
+        try {
+            if (this.json) {
+                this.out.write("{\"summary\":{\"generations\":" + count + ",\"total_ns\":" + this.totalNanos
+                               + ",\"cells_per_second\":" + cellsPerSecond + ",\"p50_ns\":" + p50
+                               + ",\"p99_ns\":" + p99 + ",\"max_ns\":" + max + "}}\n");
+            } else {
+                this.out.write("# generations," + count + "\n# total_ns," + this.totalNanos
+                               + "\n# cells_per_second," + cellsPerSecond + "\n# p50_ns," + p50
+                               + "\n# p99_ns," + p99 + "\n# max_ns," + max + "\n");
+            }
+        } finally {
+            this.out.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * JLife v0.2
+ * Copyright (C) 2014 Faivre Pierre
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * WindowRows.java
+ * Creation : 18/10/2026
+ * Last modification : 18/10/2026
+ *
+ * Description : Implémentation basique du jeu de la vie de John Horton Conway.
+ */
+package jlife;
+
+import java.util.Arrays;
+
+/**
+ * Lignes d'une fenêtre de l'univers d'un moteur, dont le coin supérieur
+ * gauche devient la cellule (0, 0). Les lignes d'une grille sont copiées
+ * mot par mot, décalées de la position de la fenêtre ; les autres moteurs
+ * sont lus cellule par cellule.
+ * @author Faivre Pierre
+ */
+class WindowRows implements RowSource {
+
+    private final LifeEngine engine;
+
+    private final BoundingBox window;
+
+    /**
+     * @param engine Moteur dont les cellules sont lues.
+     * @param window Rectangle de cellules lu.
+     */
+    WindowRows(LifeEngine engine, BoundingBox window) {
+        this.engine = engine;
+        this.window = window;
+    }
+
+    @Override
+    public int getWidth() {
+        return (int) this.window.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return (int) this.window.getHeight();
+    }
+
+    @Override
+    public void copyRows(int y, int count, long[] dst, int offset) {
+        int width = this.getWidth();
+        int wordsPerRow = Grid.wordsPerRow(width);
+
+        Arrays.fill(dst, offset, offset + count * wordsPerRow, 0L);
+        if (this.engine instanceof BandedGrid) {
+            this.copyGridRows((BandedGrid) this.engine, y, count, dst, offset);
+        } else {
+            for (int j = 0; j < count; j++) {
+                for (int x = 0; x < width; x++) {
+                    if (this.engine.isAlive(this.window.getX() + x, this.window.getY() + y + j)) {
+                        dst[offset + j * wordsPerRow + (x >>> 6)] |= 1L << x;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copie des lignes d'une grille coupées par la fenêtre.
+     * @param grid Grille lue.
+     * @param y Première ligne de la fenêtre.
+     * @param count Nombre de lignes.
+     * @param dst Tableau recevant les lignes, vides.
+     * @param offset Indice du premier mot écrit dans dst.
+     */
+    private void copyGridRows(BandedGrid grid, int y, int count, long[] dst, int offset) {
+        int width = this.getWidth();
+        int wordsPerRow = Grid.wordsPerRow(width);
+        long[] row = new long[Grid.wordsPerRow(grid.getWidth())];
+        long from = Math.max(this.window.getY() + y, 0);
+        long to = Math.min(this.window.getY() + y + count, grid.getHeight());
+        int index;
+
+        for (long gy = from; gy < to; gy++) {
+            grid.copyRows((int) gy, 1, row, 0);
+            index = offset + (int) (gy - this.window.getY() - y) * wordsPerRow;
+            for (int i = 0; i < wordsPerRow; i++) {
+                dst[index + i] = bitsAt(row, grid.getWidth(), this.window.getX() + 64L * i);
+            }
+            if (width % 64 != 0) {
+                // Cellules au-delà de la fenêtre dans le dernier mot
+                dst[index + wordsPerRow - 1] &= (1L << width) - 1;
+            }
+        }
+    }
+
+    /**
+     * Lit 64 cellules consécutives d'une ligne, vides hors de la ligne.
+     * @param row Ligne lue.
+     * @param width Nombre de cellules de la ligne.
+     * @param x Abscisse de la première cellule lue.
+     * @return Les cellules x à x + 63, la première dans le bit de poids faible.
+     */
+    private static long bitsAt(long[] row, int width, long x) {
+        long word;
+
+        if (x <= -64 || x >= width) {
+            return 0;
+        } else if (x < 0) {
+            word = row[0] << -x;
+        } else {
+            int i = (int) (x >>> 6);
+            int shift = (int) (x & 63);
+            word = row[i] >>> shift;
+            if (shift != 0 && i + 1 < row.length) {
+                word |= row[i + 1] << (64 - shift);
+            }
+        }
+        if (width - x < 64) {
+            word &= (1L << (width - x)) - 1;
+        }
+        return word;
+    }
+}